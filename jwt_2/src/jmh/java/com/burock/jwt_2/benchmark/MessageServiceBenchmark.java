@@ -0,0 +1,71 @@
+package com.burock.jwt_2.benchmark;
+
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.MessageSource;
+
+import com.burock.jwt_2.config.MessageConfig;
+import com.burock.jwt_2.model.OrderStatus;
+import com.burock.jwt_2.service.MessageService;
+
+// 100 siparişlik bir sayfanın durum metinlerini, her sipariş için MessageSource'a giderek ve
+// MessageService'in dil başına EnumMap tablosundan okuyarak çözer. Çalıştırma: mvn -Pjmh test-compile exec:exec
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class MessageServiceBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    @Param({ "tr", "en" })
+    private String language;
+
+    private MessageSource messageSource;
+    private MessageService messageService;
+    private Locale locale;
+    private OrderStatus[] page;
+
+    @Setup
+    public void setUp() {
+        messageSource = new MessageConfig().messageSource();
+        messageService = new MessageService(messageSource);
+        locale = Locale.forLanguageTag(language);
+        OrderStatus[] statuses = OrderStatus.values();
+        Random random = new Random(42);
+        page = new OrderStatus[PAGE_SIZE];
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            page[i] = statuses[random.nextInt(statuses.length)];
+        }
+    }
+
+    @Benchmark
+    public void messageSourceLookup(Blackhole blackhole) {
+        for (OrderStatus status : page) {
+            blackhole.consume(messageSource.getMessage("order.status." + status.name(), null, locale));
+        }
+    }
+
+    @Benchmark
+    public void enumMapLookup(Blackhole blackhole) {
+        for (OrderStatus status : page) {
+            blackhole.consume(messageService.getStatusText(status, locale));
+        }
+    }
+}
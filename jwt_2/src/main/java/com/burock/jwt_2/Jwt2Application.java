@@ -6,6 +6,7 @@ import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import com.burock.jwt_2.model.Role;
@@ -13,6 +14,7 @@ import com.burock.jwt_2.model.User;
 import com.burock.jwt_2.repository.UserRepository;
 
 @SpringBootApplication
+@EnableScheduling
 public class Jwt2Application {
 
 	public static void main(String[] args) {
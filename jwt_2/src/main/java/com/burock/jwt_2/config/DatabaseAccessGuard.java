@@ -0,0 +1,85 @@
+package com.burock.jwt_2.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+// @NoDatabaseAccess metotlarında bağlantı istenmesini yakalar. Testlerde açılır; yanlışlıkla eklenen
+// bir JPA erişimi sessizce havuzdan bağlantı tüketmek yerine hemen hata verir.
+@Configuration(proxyBeanMethods = false)
+@Aspect
+@ConditionalOnProperty(name = "datasource.connection-guard.enabled", havingValue = "true")
+@Slf4j
+public class DatabaseAccessGuard {
+
+    private static final ThreadLocal<String> GUARDED_METHOD = new ThreadLocal<>();
+
+    @Bean
+    public static BeanPostProcessor databaseAccessGuardPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && "dataSource".equals(beanName)) {
+                    log.info("Bağlantı koruması etkin: @NoDatabaseAccess metotlarında bağlantı alınamaz");
+                    return new GuardedDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Around("@annotation(com.burock.jwt_2.config.NoDatabaseAccess) "
+            + "|| @within(com.burock.jwt_2.config.NoDatabaseAccess)")
+    public Object guard(ProceedingJoinPoint joinPoint) throws Throwable {
+        String previous = GUARDED_METHOD.get();
+        GUARDED_METHOD.set(joinPoint.getSignature().toShortString());
+        try {
+            return joinPoint.proceed();
+        } finally {
+            if (previous == null) {
+                GUARDED_METHOD.remove();
+            } else {
+                GUARDED_METHOD.set(previous);
+            }
+        }
+    }
+
+    private static class GuardedDataSource extends DelegatingDataSource {
+
+        private GuardedDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            check();
+            return super.getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            check();
+            return super.getConnection(username, password);
+        }
+
+        private void check() {
+            String method = GUARDED_METHOD.get();
+            if (method != null) {
+                throw new IllegalStateException("Veritabanı erişimi olmaması gereken metotta bağlantı istendi: " + method);
+            }
+        }
+    }
+}
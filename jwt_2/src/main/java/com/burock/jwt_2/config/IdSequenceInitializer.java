@@ -0,0 +1,45 @@
+package com.burock.jwt_2.config;
+
+import java.util.Map;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// IDENTITY'den sequence'e geçiş: mevcut verisi olan tablolarda sequence en büyük id'nin gerisindeyse ileri alınır.
+// Diğer başlangıç işleri (örn. varsayılan kullanıcılar) kayıt eklemeden önce çalışması için en önce çalışır.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+@Slf4j
+public class IdSequenceInitializer implements ApplicationRunner {
+
+    // tablo -> sequence
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "users", "users_seq",
+            "category", "category_seq",
+            "product", "product_seq",
+            "cart", "cart_seq",
+            "cart_line", "cart_line_seq",
+            "orders", "orders_seq",
+            "order_item", "order_item_seq");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        SEQUENCES.forEach((table, sequence) -> {
+            // pooled optimizer: setval(m) sonrası ilk blok m+1'den başlar
+            jdbcTemplate.query("SELECT setval('" + sequence + "', x.max_id) FROM (SELECT MAX(id) AS max_id FROM "
+                    + table + ") x WHERE x.max_id >= (SELECT last_value FROM " + sequence + ")", rs -> {
+                        log.info("{} sequence değeri {} olarak güncellendi", sequence, rs.getLong(1));
+                    });
+        });
+    }
+}
@@ -1,5 +1,6 @@
 package com.burock.jwt_2.config;
 
+import java.util.List;
 import java.util.Locale;
 
 import org.springframework.context.MessageSource;
@@ -15,22 +16,29 @@ import org.springframework.web.servlet.i18n.LocaleChangeInterceptor;
 @Configuration
 public class MessageConfig implements WebMvcConfigurer {
 
+    public static final List<Locale> SUPPORTED_LOCALES = List.of(
+            Locale.forLanguageTag("tr"),
+            Locale.forLanguageTag("en"));
+
+    public static final Locale DEFAULT_LOCALE = Locale.forLanguageTag("tr-TR");
+
+    // Mesaj dosyalarının yeniden okunma aralığı; MessageService durum tablolarını da bu aralıkla yeniler
+    public static final int MESSAGE_CACHE_SECONDS = 3600;
+
     @Bean
     public MessageSource messageSource() {
         ReloadableResourceBundleMessageSource messageSource = new ReloadableResourceBundleMessageSource();
         messageSource.setBasename("classpath:messages");
         messageSource.setDefaultEncoding("UTF-8");
-        messageSource.setCacheSeconds(3600);
+        messageSource.setCacheSeconds(MESSAGE_CACHE_SECONDS);
         return messageSource;
     }
 
     @Bean
     public LocaleResolver localeResolver() {
         AcceptHeaderLocaleResolver localeResolver = new AcceptHeaderLocaleResolver();
-        localeResolver.setSupportedLocales(java.util.Arrays.asList(
-                Locale.forLanguageTag("tr"),
-                Locale.forLanguageTag("en")));
-        localeResolver.setDefaultLocale(Locale.forLanguageTag("tr-TR"));
+        localeResolver.setSupportedLocales(SUPPORTED_LOCALES);
+        localeResolver.setDefaultLocale(DEFAULT_LOCALE);
         return localeResolver;
     }
 
@@ -0,0 +1,20 @@
+package com.burock.jwt_2.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+// Yalnızca Elasticsearch'ten okuyan metotlar: sınıf seviyesindeki @Transactional'a rağmen transaction
+// açılmaz, Hikari'den bağlantı alınmaz. datasource.connection-guard.enabled açıksa bu metotlar içinde
+// bağlantı istenirse hata fırlatılır.
+@Target({ ElementType.METHOD, ElementType.TYPE })
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public @interface NoDatabaseAccess {
+}
@@ -0,0 +1,45 @@
+package com.burock.jwt_2.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+// Replika adresleri tanımlıysa Boot'un oluşturduğu birincil havuz, salt okunur transaction'ları
+// replikalara yönlendiren proxy ile sarılır. Tanımlı değilse hiçbir şey değişmez.
+@Configuration
+@ConditionalOnProperty(name = "datasource.replicas.urls")
+public class ReadReplicaDataSourceConfig {
+
+    @Bean
+    public static BeanPostProcessor readReplicaDataSourcePostProcessor(ObjectProvider<ReadReplicaRouter> router) {
+        return new ReplicaDataSourcePostProcessor(router);
+    }
+
+    // Diğer DataSource sarmalayıcılarından (örn. bağlantı koruması) önce çalışır; Hikari havuzunu doğrudan görmelidir
+    private static class ReplicaDataSourcePostProcessor implements BeanPostProcessor, Ordered {
+
+        private final ObjectProvider<ReadReplicaRouter> router;
+
+        private ReplicaDataSourcePostProcessor(ObjectProvider<ReadReplicaRouter> router) {
+            this.router = router;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof HikariDataSource primary && "dataSource".equals(beanName)) {
+                return router.getObject().wrap(primary);
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
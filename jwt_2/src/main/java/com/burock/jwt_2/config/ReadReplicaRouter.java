@@ -0,0 +1,240 @@
+package com.burock.jwt_2.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+// Salt okunur transaction'lar (readOnly = true) gecikmesi eşiğin altındaki replikalara dağıtılır,
+// diğer her şey birincil veritabanına gider. Yazma yapan istek ve kullanıcı kısa bir süre birincile
+// sabitlenir; böylece kendi yazdığını replika gecikmesine takılmadan okur.
+@Component
+@ConditionalOnProperty(name = "datasource.replicas.urls")
+@Slf4j
+public class ReadReplicaRouter {
+
+    // Replika değilse ya da alınan WAL'ın tamamı uygulanmışsa gecikme sıfırdır. Birincile bağlantısı kopan
+    // replikada iki LSN aynı değerde donar; akış (streaming) yoksa gecikme bilinmez (NULL) sayılır ve replika
+    // okumalardan çıkarılır. pg_stat_wal_receiver için bağlanan kullanıcının pg_read_all_stats yetkisi olmalıdır.
+    private static final String LAG_SQL = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() THEN 0
+                WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming') THEN NULL
+                WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+            END
+            """;
+
+    private static final String PINNED_ATTRIBUTE = ReadReplicaRouter.class.getName() + ".PINNED";
+
+    private final List<String> urls;
+    private final String username;
+    private final String password;
+    private final int maximumPoolSize;
+    private final Duration maxLag;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private final Cache<String, Boolean> pinnedUsers;
+
+    private HikariDataSource primary;
+
+    public ReadReplicaRouter(
+            @Value("${datasource.replicas.urls}") List<String> urls,
+            @Value("${datasource.replicas.username:}") String username,
+            @Value("${datasource.replicas.password:}") String password,
+            @Value("${datasource.replicas.maximum-pool-size:10}") int maximumPoolSize,
+            @Value("${datasource.replicas.max-lag:5s}") Duration maxLag,
+            @Value("${datasource.replicas.pin-duration:5s}") Duration pinDuration) {
+        this.urls = urls;
+        this.username = username;
+        this.password = password;
+        this.maximumPoolSize = maximumPoolSize;
+        this.maxLag = maxLag;
+        this.pinnedUsers = Caffeine.newBuilder()
+                .expireAfterWrite(pinDuration)
+                .build();
+    }
+
+    // Bağlantı ilk SQL'e kadar alınmaz; o ana kadar transaction'ın readOnly bayrağı ayarlanmış olur
+    LazyConnectionDataSourceProxy wrap(HikariDataSource primary) {
+        this.primary = primary;
+        for (int i = 0; i < urls.size(); i++) {
+            HikariConfig config = new HikariConfig();
+            config.setPoolName(primary.getPoolName() + "-replica-" + (i + 1));
+            config.setJdbcUrl(urls.get(i).trim());
+            config.setUsername(username.isBlank() ? primary.getUsername() : username);
+            config.setPassword(password.isBlank() ? primary.getPassword() : password);
+            config.setDriverClassName(primary.getDriverClassName());
+            config.setMaximumPoolSize(maximumPoolSize);
+            config.setReadOnly(true);
+            // Erişilemeyen replika uygulamanın açılmasını engellemez; gecikme kontrolü onu devre dışı bırakır
+            config.setInitializationFailTimeout(-1);
+            replicas.add(new Replica(config.getPoolName(), new HikariDataSource(config)));
+        }
+        checkReplicas();
+        log.info("Salt okunur transaction'lar {} replikaya yönlendirilecek", replicas.size());
+
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(new PrimaryDataSource(primary));
+        proxy.setReadOnlyDataSource(new ReplicaDataSource());
+        return proxy;
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replicas.lag-check-interval:PT2S}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean wasHealthy = replica.healthy;
+            try {
+                Double lagMillis = new JdbcTemplate(replica.dataSource).queryForObject(LAG_SQL, Double.class);
+                replica.lagMillis = lagMillis != null ? lagMillis.longValue() : Long.MAX_VALUE;
+                replica.healthy = replica.lagMillis <= maxLag.toMillis();
+            } catch (Exception e) {
+                replica.lagMillis = Long.MAX_VALUE;
+                replica.healthy = false;
+                log.debug("Replika gecikmesi okunamadı ({}): {}", replica.name, e.getMessage());
+            }
+            if (wasHealthy != replica.healthy) {
+                if (replica.healthy) {
+                    log.info("Replika okumalara açıldı: {} (gecikme {} ms)", replica.name, replica.lagMillis);
+                } else {
+                    log.warn("Replika okumalardan çıkarıldı: {} (gecikme {} ms, eşik {} ms)", replica.name,
+                            replica.lagMillis == Long.MAX_VALUE ? "?" : replica.lagMillis, maxLag.toMillis());
+                }
+            }
+        }
+    }
+
+    public boolean isPinnedToPrimary() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null && attributes.getAttribute(PINNED_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null) {
+            return true;
+        }
+        String user = currentUsername();
+        return user != null && pinnedUsers.getIfPresent(user) != null;
+    }
+
+    private void recordWrite() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Yalnızca commit edilen yazmalar sabitleme gerektirir
+            RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+            String user = currentUsername();
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    pin(attributes, user);
+                }
+            });
+        } else {
+            pin(RequestContextHolder.getRequestAttributes(), currentUsername());
+        }
+    }
+
+    private void pin(RequestAttributes attributes, String user) {
+        if (attributes != null) {
+            attributes.setAttribute(PINNED_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        }
+        if (user != null) {
+            pinnedUsers.put(user, Boolean.TRUE);
+        }
+    }
+
+    private String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    private Replica chooseReplica() {
+        List<Replica> healthy = replicas.stream().filter(replica -> replica.healthy).toList();
+        if (healthy.isEmpty()) {
+            return null;
+        }
+        return healthy.get(Math.floorMod(next.getAndIncrement(), healthy.size()));
+    }
+
+    @PreDestroy
+    public void close() {
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    private static class Replica {
+
+        private final String name;
+        private final HikariDataSource dataSource;
+        private volatile boolean healthy;
+        private volatile long lagMillis = Long.MAX_VALUE;
+
+        private Replica(String name, HikariDataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+
+    // Birincil havuz; salt okunur olmayan her bağlantı bir yazma olarak kabul edilir
+    private class PrimaryDataSource extends DelegatingDataSource {
+
+        private PrimaryDataSource(HikariDataSource primary) {
+            super(primary);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Connection connection = super.getConnection();
+            if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+                recordWrite();
+            }
+            return connection;
+        }
+    }
+
+    private class ReplicaDataSource extends DelegatingDataSource {
+
+        private ReplicaDataSource() {
+            super(primary);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (!isPinnedToPrimary()) {
+                Replica replica = chooseReplica();
+                if (replica != null) {
+                    try {
+                        return replica.dataSource.getConnection();
+                    } catch (SQLException e) {
+                        replica.healthy = false;
+                        log.warn("Replika bağlantısı alınamadı, birincile dönülüyor ({}): {}", replica.name,
+                                e.getMessage());
+                    }
+                }
+            }
+            return primary.getConnection();
+        }
+    }
+}
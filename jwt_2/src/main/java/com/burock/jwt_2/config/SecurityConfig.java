@@ -16,6 +16,7 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 
 import com.burock.jwt_2.security.JwtAuthFilter;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 
 @Configuration
@@ -43,9 +44,17 @@ public class SecurityConfig {
                 .csrf(csrf -> csrf.disable())
                 .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // Akış yanıtlarının (SSE, dışa aktarım) asenkron dispatch'i; istek ilk girişte yetkilendirilmiştir
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers(SWAGGER_WHITELIST).permitAll()
                         .requestMatchers("/auth/**").permitAll()
+                        // İmleçli listeleme ilk sayfada point-in-time açar; anonim istemciler istek başına PIT açamasın
+                        .requestMatchers("/products/cursor", "/products/search/cursor", "/products/category/*/cursor",
+                                "/products/price-range/cursor", "/products/in-stock/cursor", "/categories/cursor",
+                                "/categories/search/cursor").authenticated()
                         .requestMatchers("/products/**", "/categories/**").permitAll()
+                        // İmleçli arama tüm siparişleri sabit maliyetle gezebilir ve istek başına PIT açar
+                        .requestMatchers("/orders/search/cursor", "/orders/search/status/cursor").hasRole("ADMIN")
                         .requestMatchers("/orders/search/**", "/orders/order-number/**").permitAll()
                         .anyRequest().authenticated())
                 .authenticationProvider(daoAuthProvider())
@@ -5,6 +5,8 @@ import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -15,13 +17,17 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.burock.jwt_2.dto.AddToCartRequest;
+import com.burock.jwt_2.dto.ExportFormat;
 import com.burock.jwt_2.dto.ResponseWrapper;
 import com.burock.jwt_2.dto.CartResponse;
+import com.burock.jwt_2.dto.CursorResponse;
 import com.burock.jwt_2.model.User;
 import com.burock.jwt_2.search.model.CartIndex;
 import com.burock.jwt_2.service.CartService;
+import com.burock.jwt_2.service.ExportService;
 import com.burock.jwt_2.service.MessageService;
 import com.burock.jwt_2.service.UserService;
 
@@ -42,6 +48,7 @@ import lombok.RequiredArgsConstructor;
 public class CartController {
 
     private final CartService cartService;
+    private final ExportService exportService;
     private final UserService userService;
     private final MessageService messageService;
 
@@ -146,6 +153,28 @@ public class CartController {
         return ResponseEntity.ok(cartService.getAllCarts(PageRequest.of(page, size)));
     }
 
+    @Operation(summary = "Sepetleri Dışa Aktar (Admin)", description = "Tüm sepetleri Elasticsearch scroll ile okuyup NDJSON veya CSV olarak akış halinde indirir", security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Dışa aktarım başladı"),
+            @ApiResponse(responseCode = "400", description = "Geçersiz format"),
+            @ApiResponse(responseCode = "403", description = "Admin yetkisi gerekli"),
+            @ApiResponse(responseCode = "401", description = "Yetkilendirme gerekli")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/admin/export")
+    public ResponseEntity<StreamingResponseBody> exportCarts(
+            @Parameter(description = "Çıktı formatı (NDJSON, CSV)") @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            @Parameter(description = "Yanıt gzip ile sıkıştırılsın mı") @RequestParam(defaultValue = "false") boolean gzip) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"carts." + format.getExtension() + (gzip ? ".gz" : "") + "\"");
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(exportService.exportCarts(format, gzip));
+    }
+
     @Operation(summary = "Kullanıcı Adına Göre Sepet Ara (Admin)", description = "Admin kullanıcılar kullanıcı adına göre sepet arayabilir", security = @SecurityRequirement(name = "bearerAuth"))
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/admin/search")
@@ -176,4 +205,44 @@ public class CartController {
             @Parameter(description = "Sayfa boyutu") @RequestParam(defaultValue = "20") int size) {
         return ResponseEntity.ok(cartService.findCartsByPriceRange(minPrice, maxPrice, PageRequest.of(page, size)));
     }
+
+    @Operation(summary = "Tüm Sepetleri İmleç ile Listele (Admin)", description = "Sepetleri point-in-time ve search_after ile getirir. Toplam sayım yapılmaz; sonraki sayfa için dönen nextCursor kullanılır.", security = @SecurityRequirement(name = "bearerAuth"))
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/admin/all/carts/cursor")
+    public ResponseEntity<CursorResponse<CartIndex>> getAllCartsByCursor(
+            @Parameter(description = "Önceki sayfadan dönen imleç (ilk sayfa için boş)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Sayfa boyutu (en fazla 100)") @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(cartService.getAllCarts(cursor, size));
+    }
+
+    @Operation(summary = "Kullanıcı Adına Göre Sepet Ara (Admin, İmleç)", description = "Kullanıcı adına göre sepet arar; sonuçlar imleç ile sayfalanır", security = @SecurityRequirement(name = "bearerAuth"))
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/admin/search/cursor")
+    public ResponseEntity<CursorResponse<CartIndex>> searchCartsByUserNameAndCursor(
+            @Parameter(description = "Aranacak kullanıcı adı") @RequestParam String userName,
+            @Parameter(description = "Önceki sayfadan dönen imleç (ilk sayfa için boş)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Sayfa boyutu (en fazla 100)") @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(cartService.searchCartsByUserName(userName, cursor, size));
+    }
+
+    @Operation(summary = "Ürün İçeren Sepetleri Bul (Admin, İmleç)", description = "Belirtilen ürünü içeren sepetleri imleç ile sayfalayarak listeler", security = @SecurityRequirement(name = "bearerAuth"))
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/admin/product/{productId}/cursor")
+    public ResponseEntity<CursorResponse<CartIndex>> findCartsWithProductByCursor(
+            @Parameter(description = "Ürün ID'si") @PathVariable Long productId,
+            @Parameter(description = "Önceki sayfadan dönen imleç (ilk sayfa için boş)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Sayfa boyutu (en fazla 100)") @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(cartService.findCartsWithProduct(productId, cursor, size));
+    }
+
+    @Operation(summary = "Fiyat Aralığına Göre Sepet Bul (Admin, İmleç)", description = "Belirtilen fiyat aralığındaki sepetleri imleç ile sayfalayarak listeler", security = @SecurityRequirement(name = "bearerAuth"))
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/admin/price-range/cursor")
+    public ResponseEntity<CursorResponse<CartIndex>> findCartsByPriceRangeAndCursor(
+            @Parameter(description = "Minimum fiyat") @RequestParam double minPrice,
+            @Parameter(description = "Maksimum fiyat") @RequestParam double maxPrice,
+            @Parameter(description = "Önceki sayfadan dönen imleç (ilk sayfa için boş)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Sayfa boyutu (en fazla 100)") @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(cartService.findCartsByPriceRange(minPrice, maxPrice, cursor, size));
+    }
 }
@@ -14,6 +14,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.burock.jwt_2.dto.CursorResponse;
 import com.burock.jwt_2.dto.ResponseWrapper;
 import com.burock.jwt_2.model.Category;
 import com.burock.jwt_2.search.model.CategoryIndex;
@@ -78,6 +79,49 @@ public class CategoryController {
                 return ResponseEntity.ok(service.searchCategories(name, PageRequest.of(page, size)));
         }
 
+        @Operation(summary = "Tüm Kategorileri İmleç ile Listele", description = "Kategorileri point-in-time ve search_after ile getirir. Toplam sayım yapılmaz; sonraki sayfa için dönen nextCursor kullanılır.", security = @SecurityRequirement(name = "bearerAuth"))
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Kategoriler başarıyla getirildi"),
+                        @ApiResponse(responseCode = "400", description = "Geçersiz veya süresi dolmuş imleç"),
+                        @ApiResponse(responseCode = "401", description = "Yetkilendirme gerekli")
+        })
+        @GetMapping("/cursor")
+        public ResponseEntity<ResponseWrapper<CursorResponse<CategoryIndex>>> getAllCategoriesByCursor(
+                        @Parameter(description = "Önceki sayfadan dönen imleç (ilk sayfa için boş)") @RequestParam(required = false) String cursor,
+                        @Parameter(description = "Sayfa başına kayıt sayısı (en fazla 100)") @RequestParam(defaultValue = "20") int size) {
+                try {
+                        return ResponseEntity.ok(new ResponseWrapper<>(
+                                        messageService.getMessage("success"),
+                                        service.getAll(cursor, size)));
+                } catch (RuntimeException e) {
+                        return ResponseEntity.badRequest().body(new ResponseWrapper<>(
+                                        messageService.getMessage("error"),
+                                        null));
+                }
+        }
+
+        @Operation(summary = "Kategori Ara (İmleç)", description = "İsim bazında fuzzy search yapar; sonuçlar imleç ile sayfalanır.", security = @SecurityRequirement(name = "bearerAuth"))
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Kategoriler başarıyla getirildi"),
+                        @ApiResponse(responseCode = "400", description = "Geçersiz veya süresi dolmuş imleç"),
+                        @ApiResponse(responseCode = "401", description = "Yetkilendirme gerekli")
+        })
+        @GetMapping("/search/cursor")
+        public ResponseEntity<ResponseWrapper<CursorResponse<CategoryIndex>>> searchCategoriesByCursor(
+                        @Parameter(description = "Arama terimi (kategori adı)") @RequestParam String name,
+                        @Parameter(description = "Önceki sayfadan dönen imleç (ilk sayfa için boş)") @RequestParam(required = false) String cursor,
+                        @Parameter(description = "Sayfa boyutu (en fazla 100)") @RequestParam(defaultValue = "20") int size) {
+                try {
+                        return ResponseEntity.ok(new ResponseWrapper<>(
+                                        messageService.getMessage("success"),
+                                        service.searchCategories(name, cursor, size)));
+                } catch (RuntimeException e) {
+                        return ResponseEntity.badRequest().body(new ResponseWrapper<>(
+                                        messageService.getMessage("error"),
+                                        null));
+                }
+        }
+
         @Operation(summary = "İsim ile Kategori Getir", description = "Belirtilen isme sahip kategoriyi getirir")
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "200", description = "Kategori başarıyla getirildi", content = @Content(schema = @Schema(implementation = CategoryIndex.class))),
@@ -9,6 +9,8 @@ import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -19,13 +21,20 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.burock.jwt_2.dto.ResponseWrapper;
 import com.burock.jwt_2.dto.CreateOrderRequest;
+import com.burock.jwt_2.dto.CursorResponse;
+import com.burock.jwt_2.dto.ExportFormat;
 import com.burock.jwt_2.dto.OrderResponse;
 import com.burock.jwt_2.model.OrderStatus;
+import com.burock.jwt_2.service.ExportService;
 import com.burock.jwt_2.service.MessageService;
+import com.burock.jwt_2.service.OrderEventService;
 import com.burock.jwt_2.service.OrderService;
+import com.burock.jwt_2.service.UserOrderStatsService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -45,6 +54,9 @@ import lombok.RequiredArgsConstructor;
 public class OrderController {
 
     private final OrderService orderService;
+    private final ExportService exportService;
+    private final UserOrderStatsService userOrderStatsService;
+    private final OrderEventService orderEventService;
     private final MessageService messageService;
 
     // Kullanıcı İşlemleri
@@ -113,6 +125,16 @@ public class OrderController {
         }
     }
 
+    @Operation(summary = "Sipariş Durumu Akışı", description = "Kullanıcının siparişlerinde durum değiştiğinde Server-Sent Events ile 'order-status' olayı gönderir. Periyodik listeleme (polling) yerine kullanılır.", security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Olay akışı açıldı"),
+            @ApiResponse(responseCode = "401", description = "Yetkilendirme gerekli")
+    })
+    @GetMapping(value = "/my-orders/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamMyOrderEvents(Principal principal) {
+        return orderEventService.subscribe(principal.getName());
+    }
+
     @Operation(summary = "Sipariş Detayı", description = "Belirtilen ID'ye sahip siparişin detaylarını getirir", security = @SecurityRequirement(name = "bearerAuth"))
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Sipariş detayı başarıyla getirildi", content = @Content(schema = @Schema(implementation = OrderResponse.class))),
@@ -157,6 +179,54 @@ public class OrderController {
         }
     }
 
+    @Operation(summary = "Siparişlerimi İmleç ile Listele", description = "Kullanıcının siparişlerini (orderDate, id) imleci ile sayfa sayfa getirir. Toplam sayım yapılmaz; sonraki sayfa için dönen nextCursor kullanılır.", security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Siparişler başarıyla getirildi"),
+            @ApiResponse(responseCode = "400", description = "Geçersiz imleç"),
+            @ApiResponse(responseCode = "401", description = "Yetkilendirme gerekli")
+    })
+    @GetMapping("/my-orders/cursor")
+    public ResponseEntity<ResponseWrapper<CursorResponse<OrderResponse>>> getMyOrdersByCursor(
+            @Parameter(description = "Önceki sayfadan dönen imleç (ilk sayfa için boş)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Sayfa boyutu") @RequestParam(defaultValue = "10") int size,
+            Principal principal) {
+        try {
+            CursorResponse<OrderResponse> orders = orderService.getUserOrdersSlice(principal.getName(), cursor, size);
+            return ResponseEntity.ok(new ResponseWrapper<>(
+                    messageService.getMessage("success"),
+                    orders));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new ResponseWrapper<>(
+                    messageService.getMessage("error"),
+                    null));
+        }
+    }
+
+    @Operation(summary = "Duruma Göre Siparişlerimi İmleç ile Listele", description = "Kullanıcının belirtilen durumdaki siparişlerini imleç ile sayfa sayfa getirir", security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Siparişler başarıyla getirildi"),
+            @ApiResponse(responseCode = "400", description = "Geçersiz imleç"),
+            @ApiResponse(responseCode = "401", description = "Yetkilendirme gerekli")
+    })
+    @GetMapping("/my-orders/status/{status}/cursor")
+    public ResponseEntity<ResponseWrapper<CursorResponse<OrderResponse>>> getMyOrdersByStatusAndCursor(
+            @Parameter(description = "Sipariş durumu (PENDING, CONFIRMED, PROCESSING, SHIPPED, DELIVERED, CANCELLED)") @PathVariable OrderStatus status,
+            @Parameter(description = "Önceki sayfadan dönen imleç (ilk sayfa için boş)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Sayfa boyutu") @RequestParam(defaultValue = "10") int size,
+            Principal principal) {
+        try {
+            CursorResponse<OrderResponse> orders = orderService.getUserOrdersByStatusSlice(principal.getName(), status,
+                    cursor, size);
+            return ResponseEntity.ok(new ResponseWrapper<>(
+                    messageService.getMessage("success"),
+                    orders));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new ResponseWrapper<>(
+                    messageService.getMessage("error"),
+                    null));
+        }
+    }
+
     @Operation(summary = "Siparişi İptal Et", description = "Kullanıcı sadece PENDING durumundaki siparişlerini iptal edebilir", security = @SecurityRequirement(name = "bearerAuth"))
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Sipariş başarıyla iptal edildi", content = @Content(schema = @Schema(implementation = OrderResponse.class))),
@@ -315,6 +385,55 @@ public class OrderController {
         }
     }
 
+    @Operation(summary = "Sipariş Ara (İmleç)", description = "Elasticsearch ile sipariş araması yapar; point-in-time ve search_after ile sayfalanır, derin sayfalarda da maliyet sabittir. Sonraki sayfa için dönen nextCursor kullanılır.", security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Arama başarılı"),
+            @ApiResponse(responseCode = "400", description = "Geçersiz arama parametresi veya imleç"),
+            @ApiResponse(responseCode = "403", description = "Admin yetkisi gerekli")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/search/cursor")
+    public ResponseEntity<ResponseWrapper<CursorResponse<OrderResponse>>> searchOrdersByCursor(
+            @Parameter(description = "Arama terimi (sipariş numarası, adres, notlar)") @RequestParam String query,
+            @Parameter(description = "Önceki sayfadan dönen imleç (ilk sayfa için boş)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Sayfa boyutu") @RequestParam(defaultValue = "10") int size) {
+        try {
+            CursorResponse<OrderResponse> orders = orderService.searchOrdersInElasticsearch(query, cursor, size);
+            return ResponseEntity.ok(new ResponseWrapper<>(
+                    messageService.getMessage("success"),
+                    orders));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new ResponseWrapper<>(
+                    messageService.getMessage("search.no.results"),
+                    null));
+        }
+    }
+
+    @Operation(summary = "Duruma Göre Sipariş Ara (İmleç)", description = "Elasticsearch ile belirtilen durumdaki siparişleri point-in-time ve search_after ile sayfa sayfa getirir", security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Arama başarılı"),
+            @ApiResponse(responseCode = "400", description = "Geçersiz durum parametresi veya imleç"),
+            @ApiResponse(responseCode = "403", description = "Admin yetkisi gerekli")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/search/status/cursor")
+    public ResponseEntity<ResponseWrapper<CursorResponse<OrderResponse>>> searchOrdersByStatusByCursor(
+            @Parameter(description = "Sipariş durumu (PENDING, CONFIRMED, PROCESSING, SHIPPED, DELIVERED, CANCELLED)") @RequestParam String status,
+            @Parameter(description = "Önceki sayfadan dönen imleç (ilk sayfa için boş)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Sayfa boyutu") @RequestParam(defaultValue = "10") int size) {
+        try {
+            CursorResponse<OrderResponse> orders = orderService.searchOrdersByStatusInElasticsearch(status, cursor,
+                    size);
+            return ResponseEntity.ok(new ResponseWrapper<>(
+                    messageService.getMessage("success"),
+                    orders));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new ResponseWrapper<>(
+                    messageService.getMessage("search.no.results"),
+                    null));
+        }
+    }
+
     @Operation(summary = "Sipariş Numarasına Göre Ara", description = "Belirtilen sipariş numarası ile siparişi getirir")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Sipariş başarıyla bulundu", content = @Content(schema = @Schema(implementation = OrderResponse.class))),
@@ -389,6 +508,55 @@ public class OrderController {
         }
     }
 
+    @Operation(summary = "Tüm Siparişleri İmleç ile Listele (Admin)", description = "Tüm siparişleri (orderDate, id) imleci ile getirir. Sayfa derinliğinden bağımsız olarak sabit sürede yanıt verir.", security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Siparişler başarıyla listelendi"),
+            @ApiResponse(responseCode = "400", description = "Geçersiz imleç"),
+            @ApiResponse(responseCode = "403", description = "Admin yetkisi gerekli"),
+            @ApiResponse(responseCode = "401", description = "Yetkilendirme gerekli")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/admin/all/orders/cursor")
+    public ResponseEntity<ResponseWrapper<CursorResponse<OrderResponse>>> getAllOrdersByCursor(
+            @Parameter(description = "Önceki sayfadan dönen imleç (ilk sayfa için boş)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Sayfa boyutu") @RequestParam(defaultValue = "20") int size) {
+        try {
+            CursorResponse<OrderResponse> orders = orderService.getAllOrdersSlice(cursor, size);
+            return ResponseEntity.ok(new ResponseWrapper<>(
+                    messageService.getMessage("success"),
+                    orders));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new ResponseWrapper<>(
+                    messageService.getMessage("error"),
+                    null));
+        }
+    }
+
+    @Operation(summary = "Duruma Göre Siparişleri İmleç ile Listele (Admin)", description = "Belirtilen durumdaki siparişleri imleç ile getirir", security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Siparişler başarıyla listelendi"),
+            @ApiResponse(responseCode = "400", description = "Geçersiz imleç"),
+            @ApiResponse(responseCode = "403", description = "Admin yetkisi gerekli"),
+            @ApiResponse(responseCode = "401", description = "Yetkilendirme gerekli")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/admin/status/{status}/cursor")
+    public ResponseEntity<ResponseWrapper<CursorResponse<OrderResponse>>> getOrdersByStatusAndCursor(
+            @Parameter(description = "Sipariş durumu", required = true) @PathVariable OrderStatus status,
+            @Parameter(description = "Önceki sayfadan dönen imleç (ilk sayfa için boş)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Sayfa boyutu") @RequestParam(defaultValue = "20") int size) {
+        try {
+            CursorResponse<OrderResponse> orders = orderService.getOrdersByStatusSlice(status, cursor, size);
+            return ResponseEntity.ok(new ResponseWrapper<>(
+                    messageService.getMessage("success"),
+                    orders));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new ResponseWrapper<>(
+                    messageService.getMessage("error"),
+                    null));
+        }
+    }
+
     @Operation(summary = "Sipariş Durumu Güncelle (Admin)", description = "Sadece Admin kullanıcılar sipariş durumunu güncelleyebilir", security = @SecurityRequirement(name = "bearerAuth"))
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Sipariş durumu başarıyla güncellendi", content = @Content(schema = @Schema(implementation = OrderResponse.class))),
@@ -461,6 +629,51 @@ public class OrderController {
         }
     }
 
+    @Operation(summary = "Siparişleri Dışa Aktar (Admin)", description = "Tarih aralığındaki siparişleri NDJSON veya CSV olarak akış halinde indirir. Bellek kullanımı aralığın büyüklüğünden bağımsızdır.", security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Dışa aktarım başladı"),
+            @ApiResponse(responseCode = "400", description = "Geçersiz tarih veya format"),
+            @ApiResponse(responseCode = "403", description = "Admin yetkisi gerekli"),
+            @ApiResponse(responseCode = "401", description = "Yetkilendirme gerekli")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/admin/export")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @Parameter(description = "Başlangıç tarihi (ISO format)", required = true) @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @Parameter(description = "Bitiş tarihi (ISO format)", required = true) @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @Parameter(description = "Çıktı formatı (NDJSON, CSV)") @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            @Parameter(description = "Yanıt gzip ile sıkıştırılsın mı") @RequestParam(defaultValue = "false") boolean gzip) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"orders." + format.getExtension() + (gzip ? ".gz" : "") + "\"");
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(exportService.exportOrders(startDate, endDate, format, gzip));
+    }
+
+    @Operation(summary = "Sipariş İstatistiklerini Yeniden Hesapla (Admin)", description = "Kullanıcı başına sipariş sayısı ve toplam harcama tablosunu siparişlerden sıfırdan hesaplar", security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "İstatistikler yeniden hesaplandı", content = @Content(schema = @Schema(implementation = Integer.class))),
+            @ApiResponse(responseCode = "403", description = "Admin yetkisi gerekli"),
+            @ApiResponse(responseCode = "401", description = "Yetkilendirme gerekli")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/admin/stats/rebuild")
+    public ResponseEntity<ResponseWrapper<Integer>> rebuildUserOrderStats() {
+        try {
+            int users = userOrderStatsService.rebuild();
+            return ResponseEntity.ok(new ResponseWrapper<>(
+                    messageService.getMessage("success"),
+                    users));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new ResponseWrapper<>(
+                    messageService.getMessage("error"),
+                    null));
+        }
+    }
+
     @Operation(summary = "Sipariş Detayı (Admin)", description = "Admin kullanıcı herhangi bir siparişin detayını görebilir", security = @SecurityRequirement(name = "bearerAuth"))
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Sipariş detayı başarıyla getirildi", content = @Content(schema = @Schema(implementation = OrderResponse.class))),
@@ -473,9 +686,7 @@ public class OrderController {
     public ResponseEntity<ResponseWrapper<OrderResponse>> getOrderByIdAdmin(
             @Parameter(description = "Sipariş ID'si", required = true) @PathVariable Long orderId) {
         try {
-            Optional<OrderResponse> order = orderService.getOrderByOrderNumber(orderService
-                    .getAllOrders(PageRequest.of(0, Integer.MAX_VALUE)).stream().filter(o -> o.getId().equals(orderId))
-                    .findFirst().map(OrderResponse::getOrderNumber).orElse(""));
+            Optional<OrderResponse> order = orderService.getOrderByIdForAdmin(orderId);
             if (order.isPresent()) {
                 return ResponseEntity.ok(new ResponseWrapper<>(
                         messageService.getMessage("success"),
@@ -1,7 +1,11 @@
 package com.burock.jwt_2.controller;
 
+import java.io.IOException;
+import java.util.List;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -13,11 +17,18 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.burock.jwt_2.dto.CursorResponse;
+import com.burock.jwt_2.dto.ImportFormat;
+import com.burock.jwt_2.dto.ProductFacetFilter;
+import com.burock.jwt_2.dto.ProductFacets;
 import com.burock.jwt_2.dto.ResponseWrapper;
+import com.burock.jwt_2.dto.SearchSuggestion;
 import com.burock.jwt_2.model.Product;
 import com.burock.jwt_2.search.model.ProductIndex;
 import com.burock.jwt_2.service.MessageService;
+import com.burock.jwt_2.service.ProductImportService;
 import com.burock.jwt_2.service.ProductService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -28,6 +39,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
@@ -38,6 +50,7 @@ import lombok.RequiredArgsConstructor;
 public class ProductController {
 
     private final ProductService service;
+    private final ProductImportService importService;
     private final MessageService messageService;
     // Herkes
 
@@ -66,6 +79,34 @@ public class ProductController {
         return ResponseEntity.ok(service.searchProducts(q, PageRequest.of(page, size)));
     }
 
+    @Operation(summary = "Arama Önerileri", description = "Arama kutusu için ürün ve kategori adı önerileri döner. Completion suggester kullanır; sonuçlar önek başına kısa süre önbelleklenir.")
+    @GetMapping("/suggest")
+    public ResponseEntity<List<SearchSuggestion>> suggest(
+            @Parameter(description = "Yazılan önek") @RequestParam String prefix,
+            @Parameter(description = "Öneri sayısı (en fazla 10)") @RequestParam(defaultValue = "5") int size) {
+        return ResponseEntity.ok(service.suggest(prefix, size));
+    }
+
+    @Operation(summary = "Facet'li Ürün Arama", description = "Tek Elasticsearch isteğinde bir sayfa ürün ile kategori sayıları, fiyat histogramı ve stok sayılarını döner. Seçili filtreler yalnızca sonuçlara uygulanır; her facet'in sayıları diğer facet seçimlerine göre hesaplanır.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Arama başarılı"),
+            @ApiResponse(responseCode = "400", description = "Geçersiz arama parametresi")
+    })
+    @GetMapping("/facets")
+    public ResponseEntity<ProductFacets> facetSearch(
+            @Parameter(description = "Arama terimi (boşsa tüm ürünler)") @RequestParam(required = false) String q,
+            @Parameter(description = "Seçili kategori ID'si") @RequestParam(required = false) Long categoryId,
+            @Parameter(description = "Minimum fiyat") @RequestParam(required = false) Double minPrice,
+            @Parameter(description = "Maksimum fiyat") @RequestParam(required = false) Double maxPrice,
+            @Parameter(description = "Stok durumu (true: stokta, false: tükenmiş)") @RequestParam(required = false) Boolean inStock,
+            @Parameter(description = "Fiyat histogramı aralığı (en fazla 100 bucket oluşacak şekilde büyütülür)") @RequestParam(defaultValue = "100") double priceInterval,
+            @Parameter(description = "Sayfa numarası") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Sayfa boyutu") @RequestParam(defaultValue = "20") int size) {
+        ProductFacetFilter filter = new ProductFacetFilter(q, categoryId != null ? String.valueOf(categoryId) : null,
+                minPrice, maxPrice, inStock, priceInterval);
+        return ResponseEntity.ok(service.facetSearch(filter, PageRequest.of(page, size)));
+    }
+
     // Admin
 
     @Operation(summary = "Yeni Ürün Oluştur", description = "Sadece ADMIN kullanıcılar yeni ürün oluşturabilir", security = @SecurityRequirement(name = "bearerAuth"))
@@ -90,6 +131,21 @@ public class ProductController {
         }
     }
 
+    @Operation(summary = "Toplu Ürün İçe Aktar", description = "NDJSON veya CSV gövdeyi akış halinde okur; ürünleri batch'ler halinde veritabanına yazar ve Elasticsearch'e _bulk ile indeksler. Yanıt, ilerleme ve satır hatalarını içeren NDJSON akışıdır.", security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "İçe aktarım başladı; ilerleme yanıt gövdesinde akar"),
+            @ApiResponse(responseCode = "403", description = "Admin yetkisi gerekli")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping(value = "/import", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> importProducts(
+            @Parameter(description = "Gövde formatı (NDJSON, CSV)") @RequestParam(defaultValue = "NDJSON") ImportFormat format,
+            HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(importService.importProducts(request.getInputStream(), format));
+    }
+
     @Operation(summary = "Ürün Güncelle", description = "Sadece Admin kullanıcılar ürün güncelleyebilir", security = @SecurityRequirement(name = "bearerAuth"))
     @PreAuthorize("hasRole('ADMIN')")
     @PutMapping("/{id}")
@@ -137,6 +193,25 @@ public class ProductController {
         return ResponseEntity.ok(service.getById(id));
     }
 
+    @Operation(summary = "ID Listesi ile Getir", description = "Verilen id'lerdeki ürünleri tek Elasticsearch _mget isteğiyle getirir (en fazla 100). Bulunamayan id'ler sonuçta yer almaz.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Ürünler başarıyla getirildi"),
+            @ApiResponse(responseCode = "400", description = "Geçersiz id listesi")
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<ResponseWrapper<List<ProductIndex>>> getProductsByIds(
+            @Parameter(description = "Ürün id'leri", required = true) @RequestBody List<Long> ids) {
+        try {
+            return ResponseEntity.ok(new ResponseWrapper<>(
+                    messageService.getMessage("success"),
+                    service.getByIds(ids)));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new ResponseWrapper<>(
+                    messageService.getMessage("error"),
+                    null));
+        }
+    }
+
     @Operation(summary = "Fiyata Göre Ara", description = "Belirli fiyat aralıklarına göre arar.")
     @GetMapping("/price-range")
     public ResponseEntity<Page<ProductIndex>> getProductsByPriceRange(
@@ -154,4 +229,115 @@ public class ProductController {
             @RequestParam(defaultValue = "20") int size) {
         return ResponseEntity.ok(service.findInStock(PageRequest.of(page, size)));
     }
+
+    // İmleç ile sayfalama: point-in-time + search_after, derin sayfalarda da maliyet sabittir
+
+    @Operation(summary = "Tüm Ürünleri İmleç ile Listele", description = "Elasticsearch'ten ürünleri point-in-time ve search_after ile getirir. Toplam sayım yapılmaz; sonraki sayfa için dönen nextCursor kullanılır.", security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Ürünler başarıyla getirildi"),
+            @ApiResponse(responseCode = "400", description = "Geçersiz veya süresi dolmuş imleç"),
+            @ApiResponse(responseCode = "401", description = "Yetkilendirme gerekli")
+    })
+    @GetMapping("/cursor")
+    public ResponseEntity<ResponseWrapper<CursorResponse<ProductIndex>>> getAllProductsByCursor(
+            @Parameter(description = "Önceki sayfadan dönen imleç (ilk sayfa için boş)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Sayfa başına kayıt sayısı (en fazla 100)") @RequestParam(defaultValue = "20") int size) {
+        try {
+            return ResponseEntity.ok(new ResponseWrapper<>(
+                    messageService.getMessage("success"),
+                    service.getAll(cursor, size)));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new ResponseWrapper<>(
+                    messageService.getMessage("error"),
+                    null));
+        }
+    }
+
+    @Operation(summary = "Ürün Ara (İmleç)", description = "İsim ve kategori adında fuzzy search yapar; sonuçlar imleç ile sayfalanır.", security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Ürünler başarıyla getirildi"),
+            @ApiResponse(responseCode = "400", description = "Geçersiz veya süresi dolmuş imleç"),
+            @ApiResponse(responseCode = "401", description = "Yetkilendirme gerekli")
+    })
+    @GetMapping("/search/cursor")
+    public ResponseEntity<ResponseWrapper<CursorResponse<ProductIndex>>> searchProductsByCursor(
+            @Parameter(description = "Arama terimi (ürün adı veya kategori)") @RequestParam String q,
+            @Parameter(description = "Önceki sayfadan dönen imleç (ilk sayfa için boş)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Sayfa boyutu (en fazla 100)") @RequestParam(defaultValue = "20") int size) {
+        try {
+            return ResponseEntity.ok(new ResponseWrapper<>(
+                    messageService.getMessage("success"),
+                    service.searchProducts(q, cursor, size)));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new ResponseWrapper<>(
+                    messageService.getMessage("error"),
+                    null));
+        }
+    }
+
+    @Operation(summary = "Kategoriye Göre Ara (İmleç)", description = "Kategoriye göre ürünleri imleç ile sayfalayarak arar.", security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Ürünler başarıyla getirildi"),
+            @ApiResponse(responseCode = "400", description = "Geçersiz veya süresi dolmuş imleç"),
+            @ApiResponse(responseCode = "401", description = "Yetkilendirme gerekli")
+    })
+    @GetMapping("/category/{categoryId}/cursor")
+    public ResponseEntity<ResponseWrapper<CursorResponse<ProductIndex>>> getProductsByCategoryAndCursor(
+            @PathVariable Long categoryId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            return ResponseEntity.ok(new ResponseWrapper<>(
+                    messageService.getMessage("success"),
+                    service.getProductsByCategory(categoryId, cursor, size)));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new ResponseWrapper<>(
+                    messageService.getMessage("error"),
+                    null));
+        }
+    }
+
+    @Operation(summary = "Fiyata Göre Ara (İmleç)", description = "Belirli fiyat aralıklarına göre imleç ile sayfalayarak arar.", security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Ürünler başarıyla getirildi"),
+            @ApiResponse(responseCode = "400", description = "Geçersiz veya süresi dolmuş imleç"),
+            @ApiResponse(responseCode = "401", description = "Yetkilendirme gerekli")
+    })
+    @GetMapping("/price-range/cursor")
+    public ResponseEntity<ResponseWrapper<CursorResponse<ProductIndex>>> getProductsByPriceRangeAndCursor(
+            @RequestParam double minPrice,
+            @RequestParam double maxPrice,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            return ResponseEntity.ok(new ResponseWrapper<>(
+                    messageService.getMessage("success"),
+                    service.findByPriceRange(minPrice, maxPrice, cursor, size)));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new ResponseWrapper<>(
+                    messageService.getMessage("error"),
+                    null));
+        }
+    }
+
+    @Operation(summary = "Stok Olanları Ara (İmleç)", description = "Stokta olan ürünleri imleç ile sayfalayarak arar.", security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Ürünler başarıyla getirildi"),
+            @ApiResponse(responseCode = "400", description = "Geçersiz veya süresi dolmuş imleç"),
+            @ApiResponse(responseCode = "401", description = "Yetkilendirme gerekli")
+    })
+    @GetMapping("/in-stock/cursor")
+    public ResponseEntity<ResponseWrapper<CursorResponse<ProductIndex>>> getInStockProductsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            return ResponseEntity.ok(new ResponseWrapper<>(
+                    messageService.getMessage("success"),
+                    service.findInStock(cursor, size)));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new ResponseWrapper<>(
+                    messageService.getMessage("error"),
+                    null));
+        }
+    }
 }
@@ -0,0 +1,143 @@
+package com.burock.jwt_2.controller;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.burock.jwt_2.dto.ProductSalesSummary;
+import com.burock.jwt_2.dto.ResponseWrapper;
+import com.burock.jwt_2.dto.SalesRevenueSummary;
+import com.burock.jwt_2.dto.SalesStatusBreakdown;
+import com.burock.jwt_2.service.MessageService;
+import com.burock.jwt_2.service.SalesRollupService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/orders/admin/analytics")
+@RequiredArgsConstructor
+@Tag(name = "Satış Analizi", description = "Saatlik ve günlük satış özetlerinden ciro ve ürün raporları")
+public class SalesAnalyticsController {
+
+    private final SalesRollupService salesRollupService;
+    private final MessageService messageService;
+
+    @Operation(summary = "Ciro (Admin)", description = "Tarih aralığındaki sipariş sayısı, satılan adet ve ciroyu getirir. İptal edilen siparişler dahil edilmez. Hassasiyet saat başıdır.", security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Ciro başarıyla getirildi", content = @Content(schema = @Schema(implementation = SalesRevenueSummary.class))),
+            @ApiResponse(responseCode = "400", description = "Geçersiz tarih aralığı"),
+            @ApiResponse(responseCode = "403", description = "Admin yetkisi gerekli"),
+            @ApiResponse(responseCode = "401", description = "Yetkilendirme gerekli")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/revenue")
+    public ResponseEntity<ResponseWrapper<SalesRevenueSummary>> getRevenue(
+            @Parameter(description = "Başlangıç tarihi (ISO format)", required = true) @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @Parameter(description = "Bitiş tarihi (ISO format, hariç)", required = true) @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+        try {
+            SalesRevenueSummary revenue = salesRollupService.getRevenue(startDate, endDate);
+            return ResponseEntity.ok(new ResponseWrapper<>(
+                    messageService.getMessage("success"),
+                    revenue));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new ResponseWrapper<>(
+                    messageService.getMessage("error"),
+                    null));
+        }
+    }
+
+    @Operation(summary = "Durum Dağılımı (Admin)", description = "Tarih aralığındaki siparişlerin durumlara göre sayı, adet ve tutar dağılımını getirir", security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Durum dağılımı başarıyla getirildi"),
+            @ApiResponse(responseCode = "400", description = "Geçersiz tarih aralığı"),
+            @ApiResponse(responseCode = "403", description = "Admin yetkisi gerekli"),
+            @ApiResponse(responseCode = "401", description = "Yetkilendirme gerekli")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/status-breakdown")
+    public ResponseEntity<ResponseWrapper<List<SalesStatusBreakdown>>> getStatusBreakdown(
+            @Parameter(description = "Başlangıç tarihi (ISO format)", required = true) @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @Parameter(description = "Bitiş tarihi (ISO format, hariç)", required = true) @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+        try {
+            List<SalesStatusBreakdown> breakdown = salesRollupService.getStatusBreakdown(startDate, endDate);
+            return ResponseEntity.ok(new ResponseWrapper<>(
+                    messageService.getMessage("success"),
+                    breakdown));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new ResponseWrapper<>(
+                    messageService.getMessage("error"),
+                    null));
+        }
+    }
+
+    @Operation(summary = "En Çok Satan Ürünler (Admin)", description = "Tarih aralığında ciroya göre en çok satan ürünleri getirir. İptal edilen siparişler dahil edilmez.", security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Ürünler başarıyla getirildi"),
+            @ApiResponse(responseCode = "400", description = "Geçersiz tarih aralığı"),
+            @ApiResponse(responseCode = "403", description = "Admin yetkisi gerekli"),
+            @ApiResponse(responseCode = "401", description = "Yetkilendirme gerekli")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/top-products")
+    public ResponseEntity<ResponseWrapper<List<ProductSalesSummary>>> getTopProducts(
+            @Parameter(description = "Başlangıç tarihi (ISO format)", required = true) @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @Parameter(description = "Bitiş tarihi (ISO format, hariç)", required = true) @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @Parameter(description = "Ürün sayısı (en fazla 100)") @RequestParam(defaultValue = "10") int limit) {
+        try {
+            List<ProductSalesSummary> products = salesRollupService.getTopProducts(startDate, endDate, limit);
+            return ResponseEntity.ok(new ResponseWrapper<>(
+                    messageService.getMessage("success"),
+                    products));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new ResponseWrapper<>(
+                    messageService.getMessage("error"),
+                    null));
+        }
+    }
+
+    @Operation(summary = "Satış Özetlerini Onar (Admin)", description = "Saatlik ve günlük özetleri siparişlerden yeniden hesaplar. Aralık verilmezse son günler onarılır; geçmiş dönemler için from/to ile geriye dönük doldurma yapılır.", security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Özetler yeniden hesaplandı"),
+            @ApiResponse(responseCode = "400", description = "Geçersiz tarih aralığı"),
+            @ApiResponse(responseCode = "403", description = "Admin yetkisi gerekli"),
+            @ApiResponse(responseCode = "401", description = "Yetkilendirme gerekli")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/repair")
+    public ResponseEntity<ResponseWrapper<Void>> repairRollups(
+            @Parameter(description = "Başlangıç günü (ISO format, dahil)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Bitiş günü (ISO format, hariç)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            if (from == null && to == null) {
+                salesRollupService.repairRecentRollups();
+            } else {
+                salesRollupService.rebuild(from != null ? from : LocalDate.MIN,
+                        to != null ? to : LocalDate.now().plusDays(1));
+            }
+            return ResponseEntity.ok(new ResponseWrapper<>(
+                    messageService.getMessage("success"),
+                    null));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new ResponseWrapper<>(
+                    messageService.getMessage("error"),
+                    null));
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.burock.jwt_2.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.burock.jwt_2.dto.FanoutStatus;
+import com.burock.jwt_2.dto.ReindexStatus;
+import com.burock.jwt_2.dto.ResponseWrapper;
+import com.burock.jwt_2.search.service.DenormalizedFieldFanout;
+import com.burock.jwt_2.search.service.SearchReindexService;
+import com.burock.jwt_2.service.MessageService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/search/admin")
+@RequiredArgsConstructor
+@Tag(name = "Arama İndeksleri", description = "Elasticsearch indekslerinin kesintisiz yeniden oluşturulması ve kopyalanan alanların güncellenmesi")
+public class SearchIndexController {
+
+    private final SearchReindexService searchReindexService;
+    private final DenormalizedFieldFanout denormalizedFieldFanout;
+    private final MessageService messageService;
+
+    @Operation(summary = "Yeniden İndeksle (Admin)", description = "Yeni sürümlü bir indeks oluşturur, Postgres'ten doldurur ve alias'ı kesintisiz olarak yeni indekse taşır. İşlem arka planda çalışır.", security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Yeniden indeksleme başlatıldı", content = @Content(schema = @Schema(implementation = ReindexStatus.class))),
+            @ApiResponse(responseCode = "400", description = "Bilinmeyen indeks veya işlem zaten sürüyor"),
+            @ApiResponse(responseCode = "403", description = "Admin yetkisi gerekli"),
+            @ApiResponse(responseCode = "401", description = "Yetkilendirme gerekli")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/reindex/{index}")
+    public ResponseEntity<ResponseWrapper<ReindexStatus>> startReindex(
+            @Parameter(description = "Alias adı (products, categories, orders, carts)", required = true) @PathVariable String index) {
+        try {
+            ReindexStatus status = searchReindexService.start(index);
+            return ResponseEntity.ok(new ResponseWrapper<>(
+                    messageService.getMessage("success"),
+                    status));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new ResponseWrapper<>(
+                    messageService.getMessage("error"),
+                    null));
+        }
+    }
+
+    @Operation(summary = "Yeniden İndeksleme Durumu (Admin)", description = "Başlatılan yeniden indeksleme işlemlerinin durumunu ve sayaçlarını getirir", security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Durumlar başarıyla getirildi"),
+            @ApiResponse(responseCode = "403", description = "Admin yetkisi gerekli"),
+            @ApiResponse(responseCode = "401", description = "Yetkilendirme gerekli")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/reindex")
+    public ResponseEntity<ResponseWrapper<List<ReindexStatus>>> getReindexStatuses() {
+        try {
+            List<ReindexStatus> statuses = searchReindexService.getStatuses();
+            return ResponseEntity.ok(new ResponseWrapper<>(
+                    messageService.getMessage("success"),
+                    statuses));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new ResponseWrapper<>(
+                    messageService.getMessage("error"),
+                    null));
+        }
+    }
+
+    @Operation(summary = "Kopyalanan Alan Güncellemeleri (Admin)", description = "Kategori adı ve ürün ad/fiyat değişikliklerinin diğer indekslere yayılması için bekleyen, süren ve son tamamlanan _update_by_query görevlerini getirir", security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Görevler başarıyla getirildi"),
+            @ApiResponse(responseCode = "403", description = "Admin yetkisi gerekli"),
+            @ApiResponse(responseCode = "401", description = "Yetkilendirme gerekli")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/fanout")
+    public ResponseEntity<ResponseWrapper<List<FanoutStatus>>> getFanoutStatuses() {
+        try {
+            List<FanoutStatus> statuses = denormalizedFieldFanout.getStatuses();
+            return ResponseEntity.ok(new ResponseWrapper<>(
+                    messageService.getMessage("success"),
+                    statuses));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new ResponseWrapper<>(
+                    messageService.getMessage("error"),
+                    null));
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package com.burock.jwt_2.dto;
+
+public record CartLineQuantity(Long productId, int quantity) {
+}
@@ -0,0 +1,4 @@
+package com.burock.jwt_2.dto;
+
+public record CategoryProductCount(Long categoryId, long productCount) {
+}
@@ -0,0 +1,17 @@
+package com.burock.jwt_2.dto;
+
+import java.util.List;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorResponse<T> {
+
+    private List<T> content;
+    private String nextCursor; // Son sayfada null
+    private boolean hasNext;
+}
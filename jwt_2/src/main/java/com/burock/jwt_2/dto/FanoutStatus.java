@@ -0,0 +1,8 @@
+package com.burock.jwt_2.dto;
+
+import java.time.LocalDateTime;
+
+public record FanoutStatus(String rule, Long sourceId, String taskId, String state, long total, long updated,
+        long noops, long versionConflicts, long failures, LocalDateTime startedAt, LocalDateTime finishedAt,
+        String message) {
+}
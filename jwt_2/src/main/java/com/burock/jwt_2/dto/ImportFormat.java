@@ -0,0 +1,7 @@
+package com.burock.jwt_2.dto;
+
+// Toplu ürün içe aktarımında kabul edilen gövde formatları
+public enum ImportFormat {
+    NDJSON,
+    CSV
+}
@@ -0,0 +1,31 @@
+package com.burock.jwt_2.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+// (orderDate, id) anahtarlı sayfalama imleci; istemciye opak bir token olarak verilir
+public record OrderCursor(LocalDateTime orderDate, Long id) {
+
+    // İlk sayfa için tüm siparişlerden büyük bir başlangıç noktası
+    public static final OrderCursor FIRST = new OrderCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    public static OrderCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new OrderCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.valueOf(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Geçersiz sayfa imleci: " + token);
+        }
+    }
+
+    public String encode() {
+        String raw = orderDate + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
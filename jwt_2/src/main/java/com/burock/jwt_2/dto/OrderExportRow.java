@@ -0,0 +1,25 @@
+package com.burock.jwt_2.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.burock.jwt_2.model.OrderStatus;
+
+// Dışa aktarım için sipariş + kalem satırı; sipariş başına kalem sayısı kadar satır döner
+public record OrderExportRow(
+        Long orderId,
+        String orderNumber,
+        String username,
+        OrderStatus status,
+        BigDecimal totalAmount,
+        LocalDateTime orderDate,
+        LocalDateTime deliveryDate,
+        String shippingAddress,
+        String notes,
+        Long itemId,
+        Long productId,
+        String productName,
+        Integer quantity,
+        BigDecimal unitPrice,
+        BigDecimal totalPrice) {
+}
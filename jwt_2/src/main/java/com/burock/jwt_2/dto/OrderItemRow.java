@@ -0,0 +1,14 @@
+package com.burock.jwt_2.dto;
+
+import java.math.BigDecimal;
+
+// Sipariş kalemlerini ürün adıyla birlikte tek sorguda okumak için projeksiyon
+public record OrderItemRow(
+        Long orderId,
+        Long id,
+        Long productId,
+        String productName,
+        Integer quantity,
+        BigDecimal unitPrice,
+        BigDecimal totalPrice) {
+}
@@ -0,0 +1,10 @@
+package com.burock.jwt_2.dto;
+
+import java.time.LocalDateTime;
+
+import com.burock.jwt_2.model.OrderStatus;
+
+// Sipariş durumu değiştiğinde yayınlanır; abonelere commit sonrasında iletilir
+public record OrderStatusChangedEvent(Long orderId, String orderNumber, String username,
+        OrderStatus previousStatus, OrderStatus status, LocalDateTime occurredAt) {
+}
@@ -0,0 +1,9 @@
+package com.burock.jwt_2.dto;
+
+import java.time.LocalDateTime;
+
+import com.burock.jwt_2.model.OrderStatus;
+
+public record OrderStatusNotification(Long orderId, String orderNumber, OrderStatus status, String statusText,
+        LocalDateTime occurredAt) {
+}
@@ -0,0 +1,13 @@
+package com.burock.jwt_2.dto;
+
+import java.math.BigDecimal;
+
+import com.burock.jwt_2.model.OrderStatus;
+
+// Sipariş özeti için entity yüklemeden okunan projeksiyon
+public record OrderSummaryView(
+        String orderNumber,
+        BigDecimal totalAmount,
+        OrderStatus status,
+        Long totalItems) {
+}
@@ -0,0 +1,6 @@
+package com.burock.jwt_2.dto;
+
+// Boş bırakılan alanlar filtre uygulanmaz anlamına gelir
+public record ProductFacetFilter(String q, String categoryId, Double minPrice, Double maxPrice, Boolean inStock,
+        double priceInterval) {
+}
@@ -0,0 +1,17 @@
+package com.burock.jwt_2.dto;
+
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+
+import com.burock.jwt_2.search.model.ProductIndex;
+
+public record ProductFacets(Page<ProductIndex> products, List<CategoryFacet> categories, List<PriceFacet> prices,
+        long inStock, long outOfStock) {
+
+    public record CategoryFacet(String categoryId, String categoryName, long count) {
+    }
+
+    public record PriceFacet(double from, double to, long count) {
+    }
+}
@@ -0,0 +1,21 @@
+package com.burock.jwt_2.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// İçe aktarım yanıtındaki NDJSON satırları: ilerleme, satır hatası ve özet
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ProductImportEvent(String type, Long line, String message, Long read, Long imported, Long failed,
+        Long indexed, Long durationMs) {
+
+    public static ProductImportEvent error(long line, String message) {
+        return new ProductImportEvent("error", line, message, null, null, null, null, null);
+    }
+
+    public static ProductImportEvent progress(long read, long imported, long failed, long indexed) {
+        return new ProductImportEvent("progress", null, null, read, imported, failed, indexed, null);
+    }
+
+    public static ProductImportEvent done(long read, long imported, long failed, long indexed, long durationMs) {
+        return new ProductImportEvent("done", null, null, read, imported, failed, indexed, durationMs);
+    }
+}
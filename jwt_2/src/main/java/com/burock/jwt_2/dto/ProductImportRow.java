@@ -0,0 +1,5 @@
+package com.burock.jwt_2.dto;
+
+// İçe aktarım satırı; kategori id veya ad ile belirtilebilir
+public record ProductImportRow(String name, Double price, Integer stock, Long categoryId, String categoryName) {
+}
@@ -0,0 +1,7 @@
+package com.burock.jwt_2.dto;
+
+import java.math.BigDecimal;
+
+public record ProductSalesSummary(Long productId, String productName, Long categoryId, Long orderCount, Long units,
+        BigDecimal revenue) {
+}
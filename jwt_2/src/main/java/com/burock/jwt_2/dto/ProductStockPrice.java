@@ -0,0 +1,4 @@
+package com.burock.jwt_2.dto;
+
+public record ProductStockPrice(Long id, int stock, double price) {
+}
@@ -0,0 +1,7 @@
+package com.burock.jwt_2.dto;
+
+import java.time.LocalDateTime;
+
+public record ReindexStatus(String alias, String targetIndex, String state, long copied, long replayed,
+        long failed, LocalDateTime startedAt, LocalDateTime finishedAt, String message) {
+}
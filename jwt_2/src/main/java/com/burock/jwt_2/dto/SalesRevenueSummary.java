@@ -0,0 +1,8 @@
+package com.burock.jwt_2.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record SalesRevenueSummary(LocalDateTime startDate, LocalDateTime endDate, Long orderCount, Long units,
+        BigDecimal revenue) {
+}
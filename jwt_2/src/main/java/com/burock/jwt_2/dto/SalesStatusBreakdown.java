@@ -0,0 +1,8 @@
+package com.burock.jwt_2.dto;
+
+import java.math.BigDecimal;
+
+import com.burock.jwt_2.model.OrderStatus;
+
+public record SalesStatusBreakdown(OrderStatus status, Long orderCount, Long units, BigDecimal revenue) {
+}
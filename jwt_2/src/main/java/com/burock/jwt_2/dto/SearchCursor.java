@@ -0,0 +1,34 @@
+package com.burock.jwt_2.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Elasticsearch point-in-time kimliği ve son dokümanın sıralama değerleri (search_after); istemciye opak
+// bir token olarak verilir. Sunucu tarafında durum tutulmaz.
+public record SearchCursor(String pitId, List<Object> searchAfter) {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    public static SearchCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            return MAPPER.readValue(Base64.getUrlDecoder().decode(token), SearchCursor.class);
+        } catch (Exception e) {
+            throw new RuntimeException("Geçersiz sayfa imleci: " + token);
+        }
+    }
+
+    public String encode() {
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(MAPPER.writeValueAsBytes(this));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Sayfa imleci oluşturulamadı", e);
+        }
+    }
+}
@@ -0,0 +1,5 @@
+package com.burock.jwt_2.dto;
+
+// type: PRODUCT veya CATEGORY; id ilgili dokümanın id'sidir
+public record SearchSuggestion(String text, String type, String id) {
+}
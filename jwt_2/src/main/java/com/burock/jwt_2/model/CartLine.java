@@ -12,7 +12,8 @@ import lombok.*;
 public class CartLine {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cart_line_seq")
+    @SequenceGenerator(name = "cart_line_seq", sequenceName = "cart_line_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
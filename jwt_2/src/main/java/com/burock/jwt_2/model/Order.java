@@ -13,14 +13,21 @@ import lombok.*;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_user_date_id", columnList = "user_id, order_date, id"),
+        @Index(name = "idx_orders_status_date_id", columnList = "status, order_date, id"),
+        @Index(name = "idx_orders_date_id", columnList = "order_date, id"),
+        @Index(name = "idx_orders_order_number", columnList = "order_number")
+})
 public class Order {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
 
-    @Column(unique = true)
+    // Tablo order_date üzerinden bölümlendiği için global unique kısıt tanımlanamaz; idx_orders_order_number
+    // ile aranır, tekilliği zaman damgası ve rastgele ekle üretilen numara sağlar
     private String orderNumber;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -37,7 +44,8 @@ public class Order {
     @Column(nullable = false)
     private OrderStatus status;
 
-    @Column(nullable = false)
+    // Partition anahtarıdır; değişirse satırın başka partition'a taşınması gerekir
+    @Column(nullable = false, updatable = false)
     private LocalDateTime orderDate;
 
     private LocalDateTime deliveryDate;
@@ -1,6 +1,7 @@
 package com.burock.jwt_2.model;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 import jakarta.persistence.*;
 import lombok.*;
@@ -14,7 +15,8 @@ import lombok.*;
 public class OrderItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_item_seq")
+    @SequenceGenerator(name = "order_item_seq", sequenceName = "order_item_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -34,7 +36,18 @@ public class OrderItem {
     @Column(nullable = false, precision = 10, scale = 2)
     private BigDecimal totalPrice;
 
+    // order_item de orders gibi order_date üzerinden aylık bölümlenir; siparişin tarihi kopyalanır
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime orderDate;
+
     @PrePersist
+    public void prePersist() {
+        if (orderDate == null && order != null) {
+            orderDate = order.getOrderDate();
+        }
+        calculateTotalPrice();
+    }
+
     @PreUpdate
     public void calculateTotalPrice() {
         if (unitPrice != null && quantity != null) {
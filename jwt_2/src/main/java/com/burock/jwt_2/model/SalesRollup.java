@@ -0,0 +1,26 @@
+package com.burock.jwt_2.model;
+
+import java.math.BigDecimal;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+@MappedSuperclass
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public abstract class SalesRollup {
+
+    @EmbeddedId
+    private SalesRollupId id;
+
+    @Column(nullable = false)
+    private long orderCount;
+
+    @Column(nullable = false)
+    private long units;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue;
+}
@@ -0,0 +1,15 @@
+package com.burock.jwt_2.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// Günlük satış özeti; bucket gün başıdır
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "sales_rollup_daily", indexes = {
+        @Index(name = "idx_sales_rollup_daily_bucket_product", columnList = "bucket, product_id")
+})
+public class SalesRollupDaily extends SalesRollup {
+}
@@ -0,0 +1,15 @@
+package com.burock.jwt_2.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// Saatlik satış özeti; bucket saat başıdır
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "sales_rollup_hourly", indexes = {
+        @Index(name = "idx_sales_rollup_hourly_bucket_product", columnList = "bucket, product_id")
+})
+public class SalesRollupHourly extends SalesRollup {
+}
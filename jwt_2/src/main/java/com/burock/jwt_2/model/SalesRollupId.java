@@ -0,0 +1,30 @@
+package com.burock.jwt_2.model;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// Sipariş seviyesindeki satırlarda categoryId ve productId 0'dır
+@Embeddable
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class SalesRollupId implements Serializable {
+
+    @Column(nullable = false)
+    private LocalDateTime bucket;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OrderStatus status;
+
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+}
@@ -0,0 +1,33 @@
+package com.burock.jwt_2.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// Kullanıcı başına sipariş istatistikleri; sipariş işlemleriyle aynı transaction içinde delta ile güncellenir
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "user_order_stats")
+public class UserOrderStats {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false)
+    private long orderCount;
+
+    @Column(nullable = false)
+    private long deliveredCount;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal totalSpent;
+
+    private LocalDateTime lastOrderDate;
+}
@@ -4,7 +4,10 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.burock.jwt_2.dto.CartLineQuantity;
 import com.burock.jwt_2.model.Cart;
 import com.burock.jwt_2.model.CartLine;
 import com.burock.jwt_2.model.Product;
@@ -13,4 +16,8 @@ public interface CartItemRepository extends JpaRepository<CartLine, Long> {
     Optional<CartLine> findByCartAndProduct(Cart cart, Product product);
 
     List<CartLine> findByCart(Cart cart);
+
+    // Ürün bilgileri arama indeksinden okunur; burada ürün satırları yüklenmez, yalnızca id ve adet okunur
+    @Query("SELECT new com.burock.jwt_2.dto.CartLineQuantity(ci.product.id, ci.quantity) FROM CartLine ci WHERE ci.cart = :cart ORDER BY ci.id")
+    List<CartLineQuantity> findQuantitiesByCart(@Param("cart") Cart cart);
 }
@@ -1,12 +1,24 @@
 package com.burock.jwt_2.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.burock.jwt_2.model.Cart;
 import com.burock.jwt_2.model.User;
 
 public interface CartRepository extends JpaRepository<Cart, Long> {
     Optional<Cart> findByUser(User user);
+
+    @Query("SELECT c.id FROM Cart c WHERE c.id > :afterId ORDER BY c.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @EntityGraph(attributePaths = { "user", "items", "items.product", "items.product.category" })
+    List<Cart> findWithItemsByIdIn(Collection<Long> ids);
 }
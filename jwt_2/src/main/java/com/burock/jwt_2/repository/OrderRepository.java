@@ -1,20 +1,32 @@
 package com.burock.jwt_2.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.burock.jwt_2.dto.OrderExportRow;
+import com.burock.jwt_2.dto.OrderItemRow;
+import com.burock.jwt_2.dto.OrderSummaryView;
 import com.burock.jwt_2.model.Order;
 import com.burock.jwt_2.model.OrderStatus;
 import com.burock.jwt_2.model.User;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
 
@@ -39,4 +51,107 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     @Query("SELECT o FROM Order o WHERE o.user = :user AND o.status = :status")
     List<Order> findByUserAndStatus(@Param("user") User user, @Param("status") OrderStatus status);
 
+    // Tek sipariş okumaları: kalemler ve ürünler tek sorguda gelir
+
+    @EntityGraph(attributePaths = { "orderItems", "orderItems.product" })
+    Optional<Order> findWithItemsById(Long id);
+
+    @EntityGraph(attributePaths = { "orderItems", "orderItems.product" })
+    Optional<Order> findWithItemsByOrderNumber(String orderNumber);
+
+    // Yeniden indeksleme: id sırasıyla keyset tarama, ardından sayfadaki siparişler kalemleriyle birlikte
+
+    @Query("SELECT o.id FROM Order o WHERE o.id > :afterId ORDER BY o.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @EntityGraph(attributePaths = { "user", "orderItems", "orderItems.product" })
+    List<Order> findWithItemsByIdIn(Collection<Long> ids);
+
+    // Sayfa okumaları: önce sipariş başlıkları, sonra tüm kalemler tek sorguda
+
+    @Query("""
+            SELECT new com.burock.jwt_2.dto.OrderItemRow(oi.order.id, oi.id, p.id, p.name, oi.quantity,
+                oi.unitPrice, oi.totalPrice)
+            FROM OrderItem oi JOIN oi.product p
+            WHERE oi.order.id IN :orderIds
+            ORDER BY oi.id
+            """)
+    List<OrderItemRow> findItemRowsByOrderIds(@Param("orderIds") Collection<Long> orderIds);
+
+    // Keyset sayfalama: (orderDate, id) imlecinden sonraki siparişler, COUNT sorgusu olmadan.
+    // "orderDate <= :orderDate" koşulu indeks taramasının imleçten başlamasını sağlar.
+
+    @Query("""
+            SELECT o FROM Order o
+            WHERE o.user = :user AND o.orderDate <= :orderDate AND (o.orderDate < :orderDate OR o.id < :id)
+            ORDER BY o.orderDate DESC, o.id DESC
+            """)
+    Slice<Order> findUserOrdersAfter(@Param("user") User user, @Param("orderDate") LocalDateTime orderDate,
+            @Param("id") Long id, Pageable pageable);
+
+    @Query("""
+            SELECT o FROM Order o
+            WHERE o.user = :user AND o.status = :status
+                AND o.orderDate <= :orderDate AND (o.orderDate < :orderDate OR o.id < :id)
+            ORDER BY o.orderDate DESC, o.id DESC
+            """)
+    Slice<Order> findUserOrdersByStatusAfter(@Param("user") User user, @Param("status") OrderStatus status,
+            @Param("orderDate") LocalDateTime orderDate, @Param("id") Long id, Pageable pageable);
+
+    @Query("""
+            SELECT o FROM Order o
+            WHERE o.status = :status AND o.orderDate <= :orderDate AND (o.orderDate < :orderDate OR o.id < :id)
+            ORDER BY o.orderDate DESC, o.id DESC
+            """)
+    Slice<Order> findOrdersByStatusAfter(@Param("status") OrderStatus status,
+            @Param("orderDate") LocalDateTime orderDate, @Param("id") Long id, Pageable pageable);
+
+    @Query("""
+            SELECT o FROM Order o
+            WHERE o.orderDate <= :orderDate AND (o.orderDate < :orderDate OR o.id < :id)
+            ORDER BY o.orderDate DESC, o.id DESC
+            """)
+    Slice<Order> findOrdersAfter(@Param("orderDate") LocalDateTime orderDate, @Param("id") Long id,
+            Pageable pageable);
+
+    // Dışa aktarım: sunucu tarafı JDBC imleci ile satır satır okunur, transaction içinde tüketilmelidir
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            SELECT new com.burock.jwt_2.dto.OrderExportRow(o.id, o.orderNumber, u.username, o.status, o.totalAmount,
+                o.orderDate, o.deliveryDate, o.shippingAddress, o.notes, oi.id, p.id, p.name, oi.quantity,
+                oi.unitPrice, oi.totalPrice)
+            FROM Order o JOIN o.user u LEFT JOIN o.orderItems oi LEFT JOIN oi.product p
+            WHERE o.orderDate BETWEEN :startDate AND :endDate
+            ORDER BY o.orderDate, o.id, oi.id
+            """)
+    Stream<OrderExportRow> streamExportRowsBetween(@Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate);
+
+    // Sipariş numarası filtresi: yalnızca numara kolonu okunur (benzersiz indeks üzerinden)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "5000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT o.orderNumber FROM Order o")
+    Stream<String> streamAllOrderNumbers();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "5000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT o.orderNumber FROM Order o WHERE o.orderDate >= :since")
+    Stream<String> streamOrderNumbersSince(@Param("since") LocalDateTime since);
+
+    @Query("""
+            SELECT new com.burock.jwt_2.dto.OrderSummaryView(o.orderNumber, o.totalAmount, o.status,
+                COALESCE(SUM(oi.quantity), 0L))
+            FROM Order o LEFT JOIN o.orderItems oi
+            WHERE o.id = :id
+            GROUP BY o.id, o.orderNumber, o.totalAmount, o.status
+            """)
+    Optional<OrderSummaryView> findSummaryById(@Param("id") Long id);
+
 }
@@ -1,9 +1,36 @@
 package com.burock.jwt_2.repository;
 
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.burock.jwt_2.dto.CategoryProductCount;
+import com.burock.jwt_2.dto.ProductStockPrice;
 import com.burock.jwt_2.model.Product;
 
 public interface ProductRepository extends JpaRepository<Product, Long> {
 
+    // Yeniden indeksleme: id sırasıyla keyset tarama, ardından sayfadaki ürünler kategorileriyle birlikte
+    @Query("SELECT p.id FROM Product p WHERE p.id > :afterId ORDER BY p.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @EntityGraph(attributePaths = "category")
+    List<Product> findWithCategoryByIdIn(Collection<Long> ids);
+
+    @Query("""
+            SELECT new com.burock.jwt_2.dto.CategoryProductCount(p.category.id, COUNT(p))
+            FROM Product p
+            WHERE p.category.id IN :categoryIds
+            GROUP BY p.category.id
+            """)
+    List<CategoryProductCount> countByCategoryIds(@Param("categoryIds") Collection<Long> categoryIds);
+
+    // Arama indeksindeki stok/fiyat kısmi güncellemeleri için yalnızca bu iki alan okunur
+    @Query("SELECT new com.burock.jwt_2.dto.ProductStockPrice(p.id, p.stock, p.price) FROM Product p WHERE p.id IN :ids")
+    List<ProductStockPrice> findStockAndPriceByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,9 @@
+package com.burock.jwt_2.repository;
+
+import org.springframework.stereotype.Repository;
+
+import com.burock.jwt_2.model.SalesRollupDaily;
+
+@Repository
+public interface SalesRollupDailyRepository extends SalesRollupRepository<SalesRollupDaily> {
+}
@@ -0,0 +1,39 @@
+package com.burock.jwt_2.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.data.repository.query.Param;
+
+import com.burock.jwt_2.dto.ProductSalesSummary;
+import com.burock.jwt_2.dto.SalesStatusBreakdown;
+import com.burock.jwt_2.model.OrderStatus;
+import com.burock.jwt_2.model.SalesRollup;
+import com.burock.jwt_2.model.SalesRollupId;
+
+// Saatlik ve günlük özet tabloları için ortak okuma sorguları
+@NoRepositoryBean
+public interface SalesRollupRepository<T extends SalesRollup> extends JpaRepository<T, SalesRollupId> {
+
+    @Query("""
+            SELECT new com.burock.jwt_2.dto.SalesStatusBreakdown(r.id.status, SUM(r.orderCount), SUM(r.units),
+                SUM(r.revenue))
+            FROM #{#entityName} r
+            WHERE r.id.productId = 0 AND r.id.bucket >= :from AND r.id.bucket < :to
+            GROUP BY r.id.status
+            """)
+    List<SalesStatusBreakdown> sumByStatus(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("""
+            SELECT new com.burock.jwt_2.dto.ProductSalesSummary(r.id.productId, CAST(NULL AS String),
+                MAX(r.id.categoryId), SUM(r.orderCount), SUM(r.units), SUM(r.revenue))
+            FROM #{#entityName} r
+            WHERE r.id.productId <> 0 AND r.id.status <> :excluded AND r.id.bucket >= :from AND r.id.bucket < :to
+            GROUP BY r.id.productId
+            """)
+    List<ProductSalesSummary> sumByProduct(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+            @Param("excluded") OrderStatus excluded);
+}
@@ -0,0 +1,57 @@
+package com.burock.jwt_2.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.burock.jwt_2.model.UserOrderStats;
+
+@Repository
+public interface UserOrderStatsRepository extends JpaRepository<UserOrderStats, Long> {
+
+    @Query("SELECT s FROM UserOrderStats s WHERE s.userId = (SELECT u.id FROM User u WHERE u.username = :username)")
+    Optional<UserOrderStats> findByUsername(@Param("username") String username);
+
+    // Satır yoksa oluşturur, varsa deltaları ekler; eşzamanlı siparişlerde satır kilidiyle sıraya girer
+    @Modifying
+    @Query(value = """
+            INSERT INTO user_order_stats (user_id, order_count, delivered_count, total_spent, last_order_date)
+            VALUES (:userId, :orderDelta, :deliveredDelta, :spentDelta, :orderDate)
+            ON CONFLICT (user_id) DO UPDATE SET
+                order_count = user_order_stats.order_count + EXCLUDED.order_count,
+                delivered_count = user_order_stats.delivered_count + EXCLUDED.delivered_count,
+                total_spent = user_order_stats.total_spent + EXCLUDED.total_spent,
+                last_order_date = GREATEST(user_order_stats.last_order_date, EXCLUDED.last_order_date)
+            """, nativeQuery = true)
+    void applyDelta(@Param("userId") Long userId, @Param("orderDelta") long orderDelta,
+            @Param("deliveredDelta") long deliveredDelta, @Param("spentDelta") BigDecimal spentDelta,
+            @Param("orderDate") LocalDateTime orderDate);
+
+    // Yeniden hesaplama sırasında gelen deltalar kilit bırakılana kadar bekler, böylece kaybolmaz
+    @Modifying
+    @Query(value = "LOCK TABLE user_order_stats IN SHARE ROW EXCLUSIVE MODE", nativeQuery = true)
+    void lockForRebuild();
+
+    @Modifying
+    @Query(value = "DELETE FROM user_order_stats", nativeQuery = true)
+    int deleteAllStats();
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO user_order_stats (user_id, order_count, delivered_count, total_spent, last_order_date)
+            SELECT o.user_id,
+                   COUNT(*),
+                   COUNT(*) FILTER (WHERE o.status = 'DELIVERED'),
+                   COALESCE(SUM(o.total_amount) FILTER (WHERE o.status = 'DELIVERED'), 0),
+                   MAX(o.order_date)
+            FROM orders o
+            GROUP BY o.user_id
+            """, nativeQuery = true)
+    int insertStatsFromOrders();
+}
@@ -0,0 +1,11 @@
+package com.burock.jwt_2.repository;
+
+import java.util.Optional;
+
+import com.burock.jwt_2.model.User;
+
+public interface UserRepositoryCustom {
+
+    // Natural-id üzerinden okunur; her JWT isteğinde sorgu yerine ikinci seviye önbellek kullanılır
+    Optional<User> findByUsername(String username);
+}
@@ -0,0 +1,26 @@
+package com.burock.jwt_2.repository;
+
+import java.util.Optional;
+
+import org.hibernate.Session;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import com.burock.jwt_2.model.User;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<User> findByUsername(String username) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(User.class)
+                .loadOptional(username);
+    }
+}
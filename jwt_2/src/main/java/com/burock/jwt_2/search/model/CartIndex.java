@@ -14,7 +14,7 @@ import lombok.*;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Document(indexName = "carts")
+@Document(indexName = "carts", createIndex = false)
 public class CartIndex {
 
     @Id
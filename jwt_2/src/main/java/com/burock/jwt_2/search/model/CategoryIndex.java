@@ -1,8 +1,10 @@
 package com.burock.jwt_2.search.model;
 
+import org.springframework.data.elasticsearch.annotations.CompletionField;
 import org.springframework.data.elasticsearch.annotations.Document;
 import org.springframework.data.elasticsearch.annotations.Field;
 import org.springframework.data.elasticsearch.annotations.FieldType;
+import org.springframework.data.elasticsearch.core.suggest.Completion;
 
 import jakarta.persistence.*;
 import lombok.*;
@@ -12,7 +14,7 @@ import lombok.*;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Document(indexName = "categories")
+@Document(indexName = "categories", createIndex = false)
 public class CategoryIndex {
 
     @Id
@@ -26,4 +28,8 @@ public class CategoryIndex {
 
     @Field(type = FieldType.Integer)
     private int productCount;
+
+    // Arama kutusu önerileri (completion suggester); girdi adın kendisidir
+    @CompletionField(maxInputLength = 100)
+    private Completion suggest;
 }
@@ -2,6 +2,7 @@ package com.burock.jwt_2.search.model;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 
 import org.springframework.data.elasticsearch.annotations.Document;
 import org.springframework.data.elasticsearch.annotations.Field;
@@ -15,7 +16,7 @@ import lombok.*;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Document(indexName = "orders")
+@Document(indexName = "orders", createIndex = false)
 public class OrderIndex {
 
     @Id
@@ -47,4 +48,33 @@ public class OrderIndex {
 
     @Field(type = FieldType.Text)
     private String notes;
+
+    @Field(type = FieldType.Nested)
+    private List<OrderItemIndex> items;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class OrderItemIndex {
+
+        @Field(type = FieldType.Keyword)
+        private String id;
+
+        @Field(type = FieldType.Keyword)
+        private String productId;
+
+        @Field(type = FieldType.Text)
+        private String productName;
+
+        @Field(type = FieldType.Integer)
+        private int quantity;
+
+        @Field(type = FieldType.Double)
+        private BigDecimal unitPrice;
+
+        @Field(type = FieldType.Double)
+        private BigDecimal totalPrice;
+    }
 }
@@ -1,8 +1,10 @@
 package com.burock.jwt_2.search.model;
 
+import org.springframework.data.elasticsearch.annotations.CompletionField;
 import org.springframework.data.elasticsearch.annotations.Document;
 import org.springframework.data.elasticsearch.annotations.Field;
 import org.springframework.data.elasticsearch.annotations.FieldType;
+import org.springframework.data.elasticsearch.core.suggest.Completion;
 
 import jakarta.persistence.Id;
 import lombok.*;
@@ -12,7 +14,7 @@ import lombok.*;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Document(indexName = "products")
+@Document(indexName = "products", createIndex = false)
 public class ProductIndex {
 
     @Id
@@ -34,4 +36,8 @@ public class ProductIndex {
 
     @Field(type = FieldType.Text)
     private String categoryName;
+
+    // Arama kutusu önerileri (completion suggester); girdi adın kendisidir
+    @CompletionField(maxInputLength = 100)
+    private Completion suggest;
 }
@@ -0,0 +1,26 @@
+package com.burock.jwt_2.search.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import com.burock.jwt_2.dto.CursorResponse;
+import com.burock.jwt_2.search.model.CartIndex;
+
+public interface CartSearchRepositoryCustom {
+
+    Page<CartIndex> searchByUserName(String userName, Pageable pageable);
+
+    Page<CartIndex> findByProductId(String productId, Pageable pageable);
+
+    Page<CartIndex> findByTotalPriceBetween(double minPrice, double maxPrice, Pageable pageable);
+
+    // İmleç (point-in-time + search_after) ile sayfalanan karşılıkları
+
+    CursorResponse<CartIndex> findAll(String cursor, int size);
+
+    CursorResponse<CartIndex> searchByUserName(String userName, String cursor, int size);
+
+    CursorResponse<CartIndex> findByProductId(String productId, String cursor, int size);
+
+    CursorResponse<CartIndex> findByTotalPriceBetween(double minPrice, double maxPrice, String cursor, int size);
+}
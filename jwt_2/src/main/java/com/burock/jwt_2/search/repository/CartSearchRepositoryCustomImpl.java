@@ -0,0 +1,71 @@
+package com.burock.jwt_2.search.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+
+import com.burock.jwt_2.dto.CursorResponse;
+import com.burock.jwt_2.search.model.CartIndex;
+
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class CartSearchRepositoryCustomImpl implements CartSearchRepositoryCustom {
+
+    private final ElasticsearchOperations elasticsearchOperations;
+
+    private static Query userNameQuery(String userName) {
+        String text = SearchQueries.text(userName);
+        return SearchQueries.anyOf(SearchQueries.phrasePrefix("userName", text),
+                SearchQueries.fuzzy("userName", text));
+    }
+
+    private static Query productQuery(String productId) {
+        return SearchQueries.filtered(null, SearchQueries.nestedTerm("items", "items.productId", productId));
+    }
+
+    private static Query totalPriceQuery(double minPrice, double maxPrice) {
+        return SearchQueries.filtered(null, SearchQueries.range("totalPrice", minPrice, maxPrice));
+    }
+
+    @Override
+    public Page<CartIndex> searchByUserName(String userName, Pageable pageable) {
+        return SearchQueries.page(elasticsearchOperations, userNameQuery(userName), pageable, CartIndex.class);
+    }
+
+    @Override
+    public Page<CartIndex> findByProductId(String productId, Pageable pageable) {
+        return SearchQueries.page(elasticsearchOperations, productQuery(productId), pageable, CartIndex.class);
+    }
+
+    @Override
+    public Page<CartIndex> findByTotalPriceBetween(double minPrice, double maxPrice, Pageable pageable) {
+        return SearchQueries.page(elasticsearchOperations, totalPriceQuery(minPrice, maxPrice), pageable,
+                CartIndex.class);
+    }
+
+    @Override
+    public CursorResponse<CartIndex> findAll(String cursor, int size) {
+        return SearchQueries.cursorPage(elasticsearchOperations, SearchQueries.all(), cursor, size, CartIndex.class);
+    }
+
+    @Override
+    public CursorResponse<CartIndex> searchByUserName(String userName, String cursor, int size) {
+        return SearchQueries.cursorPage(elasticsearchOperations, userNameQuery(userName), cursor, size,
+                CartIndex.class);
+    }
+
+    @Override
+    public CursorResponse<CartIndex> findByProductId(String productId, String cursor, int size) {
+        return SearchQueries.cursorPage(elasticsearchOperations, productQuery(productId), cursor, size,
+                CartIndex.class);
+    }
+
+    @Override
+    public CursorResponse<CartIndex> findByTotalPriceBetween(double minPrice, double maxPrice, String cursor,
+            int size) {
+        return SearchQueries.cursorPage(elasticsearchOperations, totalPriceQuery(minPrice, maxPrice), cursor, size,
+                CartIndex.class);
+    }
+}
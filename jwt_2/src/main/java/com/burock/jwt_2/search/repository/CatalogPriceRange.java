@@ -0,0 +1,71 @@
+package com.burock.jwt_2.search.repository;
+
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchAggregations;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.burock.jwt_2.search.model.ProductIndex;
+
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregation;
+import co.elastic.clients.elasticsearch._types.aggregations.StatsAggregate;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// Tüm katalogdaki en düşük ve en yüksek fiyat periyodik olarak okunur. Facet araması fiyat histogramının
+// aralığını bu değerlerden türetir; böylece her arama için ayrı bir istatistik isteği atılmaz.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogPriceRange {
+
+    private final ElasticsearchOperations elasticsearchOperations;
+
+    // Henüz okunmadıysa null; fiyat yelpazesi bilinmez
+    private volatile double[] range;
+
+    // İlk okuma uygulama açılırken yapılır
+    @Scheduled(fixedDelayString = "${search.facets.price-range-refresh:PT5M}")
+    public void refresh() {
+        try {
+            NativeQuery statsQuery = NativeQuery.builder()
+                    .withQuery(SearchQueries.all())
+                    .withAggregation("price_stats", Aggregation.of(a -> a.stats(st -> st.field("price"))))
+                    .withMaxResults(0)
+                    .build();
+            ElasticsearchAggregations aggregations = (ElasticsearchAggregations) elasticsearchOperations
+                    .search(statsQuery, ProductIndex.class).getAggregations();
+            if (aggregations == null) {
+                return;
+            }
+            StatsAggregate stats = aggregations.get("price_stats").aggregation().getAggregate().stats();
+            range = stats.count() == 0 ? null : new double[] { stats.min(), stats.max() };
+        } catch (RuntimeException e) {
+            log.warn("Katalog fiyat aralığı okunamadı: {}", e.getMessage());
+        }
+    }
+
+    // İstenen aralık katalog fiyat yelpazesine göre çok küçükse (ör. 0.01 ile 0-100000 arası) histogram
+    // search.max_buckets sınırını aşar ve sorgu too_many_buckets ile düşer. Yelpazeyi en fazla maxBuckets
+    // bucket'a bölen 1-2-5 adımlı bir aralığa büyütülür. Son okumadan sonra eklenen daha pahalı ürünler
+    // bucket sayısını bir sonraki yenilemeye kadar bir miktar aşabilir.
+    public double interval(double requested, int maxBuckets) {
+        double[] current = range;
+        if (current == null) {
+            return requested;
+        }
+        // Bucket sınırları aralığın katlarına hizalandığı için yelpaze bir bucket fazlasına taşabilir
+        double minimum = (current[1] - current[0]) / (maxBuckets - 1);
+        if (requested >= minimum) {
+            return requested;
+        }
+        double magnitude = Math.pow(10, Math.floor(Math.log10(minimum)));
+        for (int step : new int[] { 1, 2, 5 }) {
+            if (step * magnitude >= minimum) {
+                return step * magnitude;
+            }
+        }
+        return 10 * magnitude;
+    }
+}
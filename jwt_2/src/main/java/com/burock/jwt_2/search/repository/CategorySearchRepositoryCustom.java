@@ -0,0 +1,18 @@
+package com.burock.jwt_2.search.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import com.burock.jwt_2.dto.CursorResponse;
+import com.burock.jwt_2.search.model.CategoryIndex;
+
+public interface CategorySearchRepositoryCustom {
+
+    Page<CategoryIndex> searchByName(String name, Pageable pageable);
+
+    // İmleç (point-in-time + search_after) ile sayfalanan karşılıkları
+
+    CursorResponse<CategoryIndex> findAll(String cursor, int size);
+
+    CursorResponse<CategoryIndex> searchByName(String name, String cursor, int size);
+}
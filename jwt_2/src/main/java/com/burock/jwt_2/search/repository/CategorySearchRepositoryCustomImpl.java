@@ -0,0 +1,38 @@
+package com.burock.jwt_2.search.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+
+import com.burock.jwt_2.dto.CursorResponse;
+import com.burock.jwt_2.search.model.CategoryIndex;
+
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class CategorySearchRepositoryCustomImpl implements CategorySearchRepositoryCustom {
+
+    private final ElasticsearchOperations elasticsearchOperations;
+
+    private static Query nameQuery(String name) {
+        String text = SearchQueries.text(name);
+        return SearchQueries.anyOf(SearchQueries.phrasePrefix("name", text), SearchQueries.fuzzy("name", text));
+    }
+
+    @Override
+    public Page<CategoryIndex> searchByName(String name, Pageable pageable) {
+        return SearchQueries.page(elasticsearchOperations, nameQuery(name), pageable, CategoryIndex.class);
+    }
+
+    @Override
+    public CursorResponse<CategoryIndex> findAll(String cursor, int size) {
+        return SearchQueries.cursorPage(elasticsearchOperations, SearchQueries.all(), cursor, size,
+                CategoryIndex.class);
+    }
+
+    @Override
+    public CursorResponse<CategoryIndex> searchByName(String name, String cursor, int size) {
+        return SearchQueries.cursorPage(elasticsearchOperations, nameQuery(name), cursor, size, CategoryIndex.class);
+    }
+}
@@ -0,0 +1,22 @@
+package com.burock.jwt_2.search.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import com.burock.jwt_2.dto.CursorResponse;
+import com.burock.jwt_2.search.model.OrderIndex;
+
+public interface OrderSearchRepositoryCustom {
+
+    Page<OrderIndex> searchByText(String query, Pageable pageable);
+
+    Page<OrderIndex> findByStatus(String status, Pageable pageable);
+
+    Page<OrderIndex> findByTotalAmountBetween(double minAmount, double maxAmount, Pageable pageable);
+
+    // İmleç (point-in-time + search_after) ile sayfalanan karşılıkları
+
+    CursorResponse<OrderIndex> searchByText(String query, String cursor, int size);
+
+    CursorResponse<OrderIndex> findByStatus(String status, String cursor, int size);
+}
@@ -0,0 +1,57 @@
+package com.burock.jwt_2.search.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+
+import com.burock.jwt_2.dto.CursorResponse;
+import com.burock.jwt_2.search.model.OrderIndex;
+
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class OrderSearchRepositoryCustomImpl implements OrderSearchRepositoryCustom {
+
+    private final ElasticsearchOperations elasticsearchOperations;
+
+    private static Query textQuery(String query) {
+        String text = SearchQueries.text(query);
+        return SearchQueries.anyOf(SearchQueries.phrasePrefix("orderNumber", text),
+                SearchQueries.phrasePrefix("username", text),
+                SearchQueries.phrasePrefix("shippingAddress", text),
+                SearchQueries.match("notes", text));
+    }
+
+    private static Query statusQuery(String status) {
+        return SearchQueries.filtered(null, SearchQueries.term("status", status));
+    }
+
+    @Override
+    public Page<OrderIndex> searchByText(String query, Pageable pageable) {
+        return SearchQueries.page(elasticsearchOperations, textQuery(query), pageable, OrderIndex.class);
+    }
+
+    @Override
+    public Page<OrderIndex> findByStatus(String status, Pageable pageable) {
+        return SearchQueries.page(elasticsearchOperations, statusQuery(status), pageable, OrderIndex.class);
+    }
+
+    @Override
+    public Page<OrderIndex> findByTotalAmountBetween(double minAmount, double maxAmount, Pageable pageable) {
+        return SearchQueries.page(elasticsearchOperations,
+                SearchQueries.filtered(null, SearchQueries.range("totalAmount", minAmount, maxAmount)), pageable,
+                OrderIndex.class);
+    }
+
+    @Override
+    public CursorResponse<OrderIndex> searchByText(String query, String cursor, int size) {
+        return SearchQueries.cursorPage(elasticsearchOperations, textQuery(query), cursor, size, OrderIndex.class);
+    }
+
+    @Override
+    public CursorResponse<OrderIndex> findByStatus(String status, String cursor, int size) {
+        return SearchQueries.cursorPage(elasticsearchOperations, statusQuery(status), cursor, size,
+                OrderIndex.class);
+    }
+}
@@ -0,0 +1,41 @@
+package com.burock.jwt_2.search.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import com.burock.jwt_2.dto.CursorResponse;
+import com.burock.jwt_2.dto.ProductFacetFilter;
+import com.burock.jwt_2.dto.ProductFacets;
+import com.burock.jwt_2.search.model.ProductIndex;
+
+public interface ProductSearchRepositoryCustom {
+
+    Page<ProductIndex> searchByText(String q, Pageable pageable);
+
+    Page<ProductIndex> findByCategoryId(String categoryId, Pageable pageable);
+
+    Page<ProductIndex> findByPriceBetween(double minPrice, double maxPrice, Pageable pageable);
+
+    Page<ProductIndex> findInStock(Pageable pageable);
+
+    // İmleç (point-in-time + search_after) ile sayfalanan karşılıkları
+
+    CursorResponse<ProductIndex> findAll(String cursor, int size);
+
+    CursorResponse<ProductIndex> searchByText(String q, String cursor, int size);
+
+    CursorResponse<ProductIndex> findByCategoryId(String categoryId, String cursor, int size);
+
+    CursorResponse<ProductIndex> findByPriceBetween(double minPrice, double maxPrice, String cursor, int size);
+
+    CursorResponse<ProductIndex> findInStock(String cursor, int size);
+
+    // Sonuç sayfası ve kategori/fiyat/stok facet sayıları tek istekte
+    ProductFacets facetSearch(ProductFacetFilter filter, Pageable pageable);
+
+    // Tek _mget isteği; bulunamayan id'ler atlanır, sonuç istek sırasını korur
+    List<ProductIndex> findAllByIds(Collection<String> ids);
+}
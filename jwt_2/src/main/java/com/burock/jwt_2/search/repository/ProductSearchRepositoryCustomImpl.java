@@ -0,0 +1,214 @@
+package com.burock.jwt_2.search.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchAggregations;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.MultiGetItem;
+import org.springframework.data.elasticsearch.core.SearchHitSupport;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.query.FetchSourceFilter;
+
+import com.burock.jwt_2.dto.CursorResponse;
+import com.burock.jwt_2.dto.ProductFacetFilter;
+import com.burock.jwt_2.dto.ProductFacets;
+import com.burock.jwt_2.search.model.ProductIndex;
+
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregate;
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregation;
+import co.elastic.clients.elasticsearch._types.aggregations.FilterAggregate;
+import co.elastic.clients.elasticsearch._types.aggregations.HistogramBucket;
+import co.elastic.clients.elasticsearch._types.aggregations.StringTermsBucket;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import co.elastic.clients.json.JsonData;
+import jakarta.json.JsonObject;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class ProductSearchRepositoryCustomImpl implements ProductSearchRepositoryCustom {
+
+    private static final int MAX_CATEGORY_FACETS = 50;
+
+    // Fiyat histogramı en fazla bu kadar bucket üretecek şekilde aralığı genişletir
+    private static final int MAX_PRICE_BUCKETS = 100;
+
+    // Öneri girdileri (suggest) liste/sepet ekranlarında kullanılmaz, _mget yanıtına eklenmez
+    private static final String[] PRODUCT_FIELDS = { "id", "name", "price", "stock", "categoryId", "categoryName" };
+
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final CatalogPriceRange catalogPriceRange;
+
+    // Basit text arama
+    private static Query textQuery(String q) {
+        String text = SearchQueries.text(q);
+        return SearchQueries.anyOf(SearchQueries.phrasePrefix("name", text),
+                SearchQueries.phrasePrefix("categoryName", text));
+    }
+
+    private static Query categoryQuery(String categoryId) {
+        return SearchQueries.filtered(null, SearchQueries.term("categoryId", categoryId));
+    }
+
+    private static Query priceQuery(double minPrice, double maxPrice) {
+        return SearchQueries.filtered(null, SearchQueries.range("price", minPrice, maxPrice));
+    }
+
+    private static Query inStockQuery() {
+        return SearchQueries.filtered(null, SearchQueries.greaterThan("stock", 0));
+    }
+
+    @Override
+    public Page<ProductIndex> searchByText(String q, Pageable pageable) {
+        return SearchQueries.page(elasticsearchOperations, textQuery(q), pageable, ProductIndex.class);
+    }
+
+    @Override
+    public Page<ProductIndex> findByCategoryId(String categoryId, Pageable pageable) {
+        return SearchQueries.page(elasticsearchOperations, categoryQuery(categoryId), pageable, ProductIndex.class);
+    }
+
+    @Override
+    public Page<ProductIndex> findByPriceBetween(double minPrice, double maxPrice, Pageable pageable) {
+        return SearchQueries.page(elasticsearchOperations, priceQuery(minPrice, maxPrice), pageable,
+                ProductIndex.class);
+    }
+
+    @Override
+    public Page<ProductIndex> findInStock(Pageable pageable) {
+        return SearchQueries.page(elasticsearchOperations, inStockQuery(), pageable, ProductIndex.class);
+    }
+
+    @Override
+    public CursorResponse<ProductIndex> findAll(String cursor, int size) {
+        return SearchQueries.cursorPage(elasticsearchOperations, SearchQueries.all(), cursor, size,
+                ProductIndex.class);
+    }
+
+    @Override
+    public CursorResponse<ProductIndex> searchByText(String q, String cursor, int size) {
+        return SearchQueries.cursorPage(elasticsearchOperations, textQuery(q), cursor, size, ProductIndex.class);
+    }
+
+    @Override
+    public CursorResponse<ProductIndex> findByCategoryId(String categoryId, String cursor, int size) {
+        return SearchQueries.cursorPage(elasticsearchOperations, categoryQuery(categoryId), cursor, size,
+                ProductIndex.class);
+    }
+
+    @Override
+    public CursorResponse<ProductIndex> findByPriceBetween(double minPrice, double maxPrice, String cursor,
+            int size) {
+        return SearchQueries.cursorPage(elasticsearchOperations, priceQuery(minPrice, maxPrice), cursor, size,
+                ProductIndex.class);
+    }
+
+    @Override
+    public CursorResponse<ProductIndex> findInStock(String cursor, int size) {
+        return SearchQueries.cursorPage(elasticsearchOperations, inStockQuery(), cursor, size, ProductIndex.class);
+    }
+
+    // Seçili filtreler post_filter olarak yalnızca sonuçlara uygulanır. Her facet toplaması diğer facet'lerin
+    // filtreleriyle sınırlanır, kendi filtresiyle değil; böylece bir facet seçilince kendi seçenekleri kaybolmaz.
+    @Override
+    public ProductFacets facetSearch(ProductFacetFilter filter, Pageable pageable) {
+        if (filter.priceInterval() <= 0) {
+            throw new RuntimeException("Fiyat aralığı sıfırdan büyük olmalıdır");
+        }
+        String text = SearchQueries.text(filter.q());
+        Query query = text.isEmpty() ? SearchQueries.all() : textQuery(text);
+
+        Query category = filter.categoryId() != null ? SearchQueries.term("categoryId", filter.categoryId()) : null;
+        Query price = filter.minPrice() != null || filter.maxPrice() != null
+                ? SearchQueries.range("price", filter.minPrice(), filter.maxPrice())
+                : null;
+        Query stock = filter.inStock() == null ? null
+                : filter.inStock() ? SearchQueries.greaterThan("stock", 0) : SearchQueries.range("stock", null, 0.0);
+        double priceInterval = catalogPriceRange.interval(filter.priceInterval(), MAX_PRICE_BUCKETS);
+
+        NativeQuery nativeQuery = NativeQuery.builder()
+                .withQuery(query)
+                .withFilter(SearchQueries.filtered(null, category, price, stock))
+                .withAggregation("categories", Aggregation.of(a -> a
+                        .filter(SearchQueries.filtered(null, price, stock))
+                        .aggregations("values", v -> v
+                                .terms(t -> t.field("categoryId").size(MAX_CATEGORY_FACETS))
+                                .aggregations("name", n -> n.topHits(h -> h.size(1)
+                                        .source(src -> src.filter(f -> f.includes("categoryName"))))))))
+                .withAggregation("prices", Aggregation.of(a -> a
+                        .filter(SearchQueries.filtered(null, category, stock))
+                        .aggregations("values", v -> v
+                                .histogram(h -> h.field("price").interval(priceInterval).minDocCount(1)))))
+                .withAggregation("stock", Aggregation.of(a -> a
+                        .filter(SearchQueries.filtered(null, category, price))
+                        .aggregations("in_stock", v -> v.filter(SearchQueries.greaterThan("stock", 0)))))
+                .withPageable(pageable)
+                .build();
+
+        SearchHits<ProductIndex> hits = elasticsearchOperations.search(nativeQuery, ProductIndex.class);
+        @SuppressWarnings("unchecked")
+        Page<ProductIndex> products = (Page<ProductIndex>) SearchHitSupport
+                .unwrapSearchHits(SearchHitSupport.searchPageFor(hits, pageable));
+
+        ElasticsearchAggregations aggregations = (ElasticsearchAggregations) hits.getAggregations();
+        if (aggregations == null) {
+            return new ProductFacets(products, List.of(), List.of(), 0, 0);
+        }
+
+        List<ProductFacets.CategoryFacet> categories = new ArrayList<>();
+        for (StringTermsBucket bucket : filterAggregate(aggregations, "categories").aggregations().get("values")
+                .sterms().buckets().array()) {
+            categories.add(new ProductFacets.CategoryFacet(bucket.key().stringValue(),
+                    categoryName(bucket.aggregations().get("name")), bucket.docCount()));
+        }
+
+        List<ProductFacets.PriceFacet> prices = new ArrayList<>();
+        for (HistogramBucket bucket : filterAggregate(aggregations, "prices").aggregations().get("values")
+                .histogram().buckets().array()) {
+            prices.add(new ProductFacets.PriceFacet(bucket.key(), bucket.key() + priceInterval,
+                    bucket.docCount()));
+        }
+
+        FilterAggregate stockScope = filterAggregate(aggregations, "stock");
+        long inStock = stockScope.aggregations().get("in_stock").filter().docCount();
+        return new ProductFacets(products, categories, prices, inStock, stockScope.docCount() - inStock);
+    }
+
+    @Override
+    public List<ProductIndex> findAllByIds(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        NativeQuery query = NativeQuery.builder()
+                .withIds(ids)
+                .withSourceFilter(new FetchSourceFilter(true, PRODUCT_FIELDS, null))
+                .build();
+        List<ProductIndex> products = new ArrayList<>(ids.size());
+        for (MultiGetItem<ProductIndex> item : elasticsearchOperations.multiGet(query, ProductIndex.class)) {
+            if (item.hasItem()) {
+                products.add(item.getItem());
+            }
+        }
+        return products;
+    }
+
+    private static FilterAggregate filterAggregate(ElasticsearchAggregations aggregations, String name) {
+        return aggregations.get(name).aggregation().getAggregate().filter();
+    }
+
+    private static String categoryName(Aggregate topHits) {
+        List<Hit<JsonData>> hits = topHits.topHits().hits().hits();
+        if (hits.isEmpty() || hits.get(0).source() == null) {
+            return null;
+        }
+        JsonObject source = hits.get(0).source().toJson().asJsonObject();
+        return source.containsKey("categoryName") && !source.isNull("categoryName")
+                ? source.getString("categoryName")
+                : null;
+    }
+}
@@ -0,0 +1,170 @@
+package com.burock.jwt_2.search.repository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHitSupport;
+import org.springframework.data.elasticsearch.core.SearchHits;
+
+import com.burock.jwt_2.dto.CursorResponse;
+import com.burock.jwt_2.dto.SearchCursor;
+
+import co.elastic.clients.elasticsearch._types.SortOptions;
+import co.elastic.clients.elasticsearch._types.SortOrder;
+import co.elastic.clients.elasticsearch._types.query_dsl.ChildScoreMode;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+
+// Arama sorguları için tipli yapı taşları. Kesin eşleşme ve aralık koşulları bool.filter içinde
+// (skorlanmaz, ES tarafından bitset olarak önbelleklenir), yalnızca metin koşulları skorlanır.
+// Değerler JSON'a gövde olarak serileştirilir; kullanıcı girdisi sorgu metnine gömülmez.
+public final class SearchQueries {
+
+    private static final int MAX_TEXT_LENGTH = 200;
+
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
+    // Point-in-time her sayfada yenilenir; istemci bu süre içinde sonraki sayfayı istemelidir
+    private static final Duration CURSOR_KEEP_ALIVE = Duration.ofMinutes(2);
+
+    private static final SortOptions BY_SCORE = SortOptions.of(s -> s.score(sc -> sc.order(SortOrder.Desc)));
+    private static final SortOptions BY_SHARD_DOC = SortOptions
+            .of(s -> s.field(f -> f.field("_shard_doc").order(SortOrder.Asc)));
+
+    private SearchQueries() {
+    }
+
+    // Boşlukları sadeleştirir ve uzunluğu sınırlar; fuzzy/prefix genişlemesini makul tutar
+    public static String text(String input) {
+        if (input == null) {
+            return "";
+        }
+        String normalized = input.strip().replaceAll("\\s+", " ");
+        return normalized.length() > MAX_TEXT_LENGTH ? normalized.substring(0, MAX_TEXT_LENGTH) : normalized;
+    }
+
+    public static Query all() {
+        return Query.of(q -> q.matchAll(m -> m));
+    }
+
+    public static Query term(String field, String value) {
+        return Query.of(q -> q.term(t -> t.field(field).value(value)));
+    }
+
+    public static Query range(String field, Double gte, Double lte) {
+        return Query.of(q -> q.range(r -> r.number(n -> {
+            n.field(field);
+            if (gte != null) {
+                n.gte(gte);
+            }
+            if (lte != null) {
+                n.lte(lte);
+            }
+            return n;
+        })));
+    }
+
+    public static Query greaterThan(String field, double value) {
+        return Query.of(q -> q.range(r -> r.number(n -> n.field(field).gt(value))));
+    }
+
+    // İç içe dokümanlarda kesin eşleşme; skor üretmez
+    public static Query nestedTerm(String path, String field, String value) {
+        return Query.of(q -> q.nested(n -> n.path(path).scoreMode(ChildScoreMode.None)
+                .query(inner -> inner.term(t -> t.field(field).value(value)))));
+    }
+
+    public static Query phrasePrefix(String field, String text) {
+        return Query.of(q -> q.matchPhrasePrefix(m -> m.field(field).query(text)));
+    }
+
+    public static Query fuzzy(String field, String text) {
+        return Query.of(q -> q.fuzzy(f -> f.field(field).value(text).fuzziness("AUTO")));
+    }
+
+    public static Query match(String field, String text) {
+        return Query.of(q -> q.match(m -> m.field(field).query(text)));
+    }
+
+    public static Query anyOf(Query... clauses) {
+        return Query.of(q -> q.bool(b -> b.should(Arrays.asList(clauses)).minimumShouldMatch("1")));
+    }
+
+    // Skorlanan sorgu yoksa constant_score ile tamamen filtre bağlamında çalışır
+    public static Query filtered(Query scoring, Query... filters) {
+        List<Query> filterClauses = Arrays.stream(filters).filter(Objects::nonNull).toList();
+        if (scoring == null) {
+            return Query.of(q -> q.constantScore(c -> c.filter(f -> f.bool(b -> b.filter(filterClauses)))));
+        }
+        return Query.of(q -> q.bool(b -> b.must(scoring).filter(filterClauses)));
+    }
+
+    public static <T> Page<T> page(ElasticsearchOperations operations, Query query, Pageable pageable,
+            Class<T> type) {
+        NativeQuery nativeQuery = NativeQuery.builder().withQuery(query).withPageable(pageable).build();
+        SearchHits<T> hits = operations.search(nativeQuery, type);
+        @SuppressWarnings("unchecked")
+        Page<T> page = (Page<T>) SearchHitSupport.unwrapSearchHits(SearchHitSupport.searchPageFor(hits, pageable));
+        return page;
+    }
+
+    // Point-in-time + search_after: her sayfanın maliyeti derinlikten bağımsızdır ve max_result_window'a
+    // takılmaz. _shard_doc eşitlik bozucudur; skorlanmayan sorgularda tek sıralama odur.
+    public static <T> CursorResponse<T> cursorPage(ElasticsearchOperations operations, Query query, String cursor,
+            int size, Class<T> type) {
+        SearchCursor after = SearchCursor.decode(cursor);
+        String pitId = after != null ? after.pitId()
+                : operations.openPointInTime(operations.getIndexCoordinatesFor(type), CURSOR_KEEP_ALIVE);
+        int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        boolean scored = !query.isConstantScore() && !query.isMatchAll();
+
+        NativeQuery nativeQuery = NativeQuery.builder()
+                .withQuery(query)
+                .withSort(scored ? List.of(BY_SCORE, BY_SHARD_DOC) : List.of(BY_SHARD_DOC))
+                .withPointInTime(new org.springframework.data.elasticsearch.core.query.Query.PointInTime(pitId,
+                        CURSOR_KEEP_ALIVE))
+                .withSearchAfter(after != null ? after.searchAfter() : null)
+                .withMaxResults(pageSize + 1)
+                .withTrackTotalHits(false)
+                .build();
+
+        SearchHits<T> hits;
+        try {
+            hits = operations.search(nativeQuery, type);
+        } catch (RuntimeException e) {
+            if (after == null) {
+                // İlk sayfa: hata imleçten kaynaklanmaz, bu istekte açılan PIT kapatılır
+                try {
+                    operations.closePointInTime(pitId);
+                } catch (RuntimeException closeFailure) {
+                    e.addSuppressed(closeFailure);
+                }
+                throw e;
+            }
+            throw new RuntimeException("Sayfa imlecinin süresi dolmuş veya geçersiz, ilk sayfadan başlayın", e);
+        }
+
+        List<SearchHit<T>> page = hits.getSearchHits();
+        boolean hasNext = page.size() > pageSize;
+        List<T> content = new ArrayList<>(Math.min(page.size(), pageSize));
+        for (int i = 0; i < Math.min(page.size(), pageSize); i++) {
+            content.add(page.get(i).getContent());
+        }
+
+        String nextCursor = null;
+        String currentPit = hits.getPointInTimeId() != null ? hits.getPointInTimeId() : pitId;
+        if (hasNext) {
+            nextCursor = new SearchCursor(currentPit, page.get(pageSize - 1).getSortValues()).encode();
+        } else {
+            operations.closePointInTime(currentPit);
+        }
+        return new CursorResponse<>(content, nextCursor, hasNext);
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import com.burock.jwt_2.dto.CursorResponse;
 import com.burock.jwt_2.model.Cart;
 import com.burock.jwt_2.model.CartLine;
 import com.burock.jwt_2.search.model.CartIndex;
@@ -22,10 +23,19 @@ import lombok.extern.slf4j.Slf4j;
 public class CartSearchService {
 
     private final CartSearchRepository cartSearchRepository;
+    private final IndexWriteTracker indexWriteTracker;
 
     public void indexCart(Cart cart) {
         log.info("Sepet Elasticsearch'e indeksleniyor kullanıcı: {}", cart.getUser().getUsername());
 
+        CartIndex cartIndex = toDocument(cart);
+
+        indexWriteTracker.recordWrite(CartIndex.class, cartIndex.getId());
+        cartSearchRepository.save(cartIndex);
+        log.info("Sepet başarıyla indekslendi id: {}", cartIndex.getId());
+    }
+
+    public CartIndex toDocument(Cart cart) {
         // Cart item'larını CartItemIndex'e dönüştür
         List<CartIndex.CartItemIndex> cartItems = cart.getItems().stream()
                 .map(this::convertToCartItemIndex)
@@ -35,7 +45,7 @@ public class CartSearchService {
         int totalItems = cartItems.stream().mapToInt(CartIndex.CartItemIndex::getQuantity).sum();
         double totalPrice = cartItems.stream().mapToDouble(CartIndex.CartItemIndex::getSubtotal).sum();
 
-        CartIndex cartIndex = CartIndex.builder()
+        return CartIndex.builder()
                 .id(cart.getId().toString())
                 .userId(cart.getUser().getId().toString())
                 .userName(cart.getUser().getUsername())
@@ -43,9 +53,6 @@ public class CartSearchService {
                 .totalItems(totalItems)
                 .totalPrice(totalPrice)
                 .build();
-
-        cartSearchRepository.save(cartIndex);
-        log.info("Sepet başarıyla indekslendi id: {}", cartIndex.getId());
     }
 
     private CartIndex.CartItemIndex convertToCartItemIndex(CartLine cartLine) {
@@ -96,8 +103,25 @@ public class CartSearchService {
         return cartSearchRepository.findByTotalPriceBetween(minPrice, maxPrice, pageable);
     }
 
+    public CursorResponse<CartIndex> getAll(String cursor, int size) {
+        return cartSearchRepository.findAll(cursor, size);
+    }
+
+    public CursorResponse<CartIndex> searchByUserName(String userName, String cursor, int size) {
+        return cartSearchRepository.searchByUserName(userName, cursor, size);
+    }
+
+    public CursorResponse<CartIndex> findCartsWithProduct(Long productId, String cursor, int size) {
+        return cartSearchRepository.findByProductId(productId.toString(), cursor, size);
+    }
+
+    public CursorResponse<CartIndex> findCartsByPriceRange(double minPrice, double maxPrice, String cursor, int size) {
+        return cartSearchRepository.findByTotalPriceBetween(minPrice, maxPrice, cursor, size);
+    }
+
     public void deleteFromIndex(Long cartId) {
         log.info("Sepet Elasticsearch'ten siliniyor: {}", cartId);
+        indexWriteTracker.recordWrite(CartIndex.class, cartId.toString());
         cartSearchRepository.deleteById(cartId.toString());
         log.info("Sepet başarıyla Elasticsearch'ten silindi");
     }
@@ -106,6 +130,7 @@ public class CartSearchService {
         log.info("Kullanıcı sepeti Elasticsearch'ten siliniyor: {}", userId);
         Optional<CartIndex> cartIndex = cartSearchRepository.findByUserId(userId.toString());
         if (cartIndex.isPresent()) {
+            indexWriteTracker.recordWrite(CartIndex.class, cartIndex.get().getId());
             cartSearchRepository.deleteById(cartIndex.get().getId());
             log.info("Kullanıcı sepeti başarıyla Elasticsearch'ten silindi");
         } else {
@@ -0,0 +1,167 @@
+package com.burock.jwt_2.search.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.elasticsearch.BulkFailureException;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchAggregations;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.SearchHitsIterator;
+import org.springframework.data.elasticsearch.core.document.Document;
+import org.springframework.data.elasticsearch.core.query.UpdateQuery;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.burock.jwt_2.search.model.CategoryIndex;
+import com.burock.jwt_2.search.model.ProductIndex;
+
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregation;
+import co.elastic.clients.elasticsearch._types.aggregations.StringTermsBucket;
+import lombok.extern.slf4j.Slf4j;
+
+// CategoryIndex.productCount ürün ekleme/silme/kategori değişiminde artırılıp azaltılır. Farklar bellekte
+// kategori başına toplanır ve periyodik olarak tek _bulk kısmi güncelleme ile yazılır. Kaçan farklar
+// (yeniden başlatma, başarısız istek) products.categoryId üzerindeki tek terms toplaması ile düzeltilir.
+@Component
+@Slf4j
+public class CategoryProductCounter {
+
+    private static final String COUNT_SCRIPT = "ctx._source.productCount = Math.max(0, ctx._source.productCount + params.delta)";
+
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final IndexWriteTracker indexWriteTracker;
+    private final Map<Long, Integer> deltas = new ConcurrentHashMap<>();
+    private final int maxCategories;
+
+    public CategoryProductCounter(ElasticsearchOperations elasticsearchOperations,
+            IndexWriteTracker indexWriteTracker,
+            @Value("${search.category-counts.max-categories:10000}") int maxCategories) {
+        this.elasticsearchOperations = elasticsearchOperations;
+        this.indexWriteTracker = indexWriteTracker;
+        this.maxCategories = maxCategories;
+    }
+
+    public void productAdded(Long categoryId) {
+        productMoved(null, categoryId);
+    }
+
+    public void productRemoved(Long categoryId) {
+        productMoved(categoryId, null);
+    }
+
+    public void productMoved(Long fromCategoryId, Long toCategoryId) {
+        if (Objects.equals(fromCategoryId, toCategoryId)) {
+            return;
+        }
+        Map<Long, Integer> change = new HashMap<>();
+        if (fromCategoryId != null) {
+            change.put(fromCategoryId, -1);
+        }
+        if (toCategoryId != null) {
+            change.put(toCategoryId, 1);
+        }
+        record(change);
+    }
+
+    // Geri alınan transaction'ların farkları sayılmaz
+    private void record(Map<Long, Integer> change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.forEach((categoryId, delta) -> deltas.merge(categoryId, delta, Integer::sum));
+                }
+            });
+        } else {
+            change.forEach((categoryId, delta) -> deltas.merge(categoryId, delta, Integer::sum));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${search.category-counts.flush-interval:PT5S}")
+    public void flush() {
+        List<UpdateQuery> updates = new ArrayList<>();
+        for (Long categoryId : List.copyOf(deltas.keySet())) {
+            Integer delta = deltas.remove(categoryId);
+            if (delta == null || delta == 0) {
+                continue;
+            }
+            indexWriteTracker.recordWrite(CategoryIndex.class, categoryId.toString());
+            updates.add(UpdateQuery.builder(categoryId.toString()).withScript(COUNT_SCRIPT)
+                    .withParams(Map.<String, Object>of("delta", delta)).build());
+        }
+        if (updates.isEmpty()) {
+            return;
+        }
+
+        // Farklar tekrar uygulanırsa çift sayılabilir; başarısız olanlar mutabakata bırakılır
+        try {
+            elasticsearchOperations.bulkUpdate(updates, CategoryIndex.class);
+            log.debug("{} kategorinin ürün sayısı güncellendi", updates.size());
+        } catch (BulkFailureException e) {
+            log.warn("{} kategorinin ürün sayısı güncellenemedi, mutabakatta düzeltilecek",
+                    e.getFailedDocuments().size());
+        } catch (RuntimeException e) {
+            log.warn("Kategori ürün sayıları yazılamadı, mutabakatta düzeltilecek: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(cron = "${search.category-counts.reconcile-cron:0 */15 * * * *}")
+    public void reconcile() {
+        flush();
+        Map<String, Long> actual = countProductsByCategory();
+
+        List<UpdateQuery> updates = new ArrayList<>();
+        NativeQuery categories = NativeQuery.builder()
+                .withQuery(q -> q.matchAll(m -> m))
+                .withPageable(PageRequest.of(0, 1000))
+                .build();
+        try (SearchHitsIterator<CategoryIndex> hits = elasticsearchOperations.searchForStream(categories,
+                CategoryIndex.class)) {
+            while (hits.hasNext()) {
+                CategoryIndex category = hits.next().getContent();
+                long count = actual.getOrDefault(category.getId(), 0L);
+                if (category.getProductCount() != count) {
+                    indexWriteTracker.recordWrite(CategoryIndex.class, category.getId());
+                    updates.add(UpdateQuery.builder(category.getId())
+                            .withDocument(Document.create().append("productCount", count)).build());
+                }
+            }
+        }
+
+        if (!updates.isEmpty()) {
+            elasticsearchOperations.bulkUpdate(updates, CategoryIndex.class);
+            log.info("{} kategorinin ürün sayısı mutabakatla düzeltildi", updates.size());
+        }
+    }
+
+    private Map<String, Long> countProductsByCategory() {
+        NativeQuery query = NativeQuery.builder()
+                .withQuery(q -> q.matchAll(m -> m))
+                .withAggregation("by_category",
+                        Aggregation.of(a -> a.terms(t -> t.field("categoryId").size(maxCategories))))
+                .withMaxResults(0)
+                .build();
+        SearchHits<ProductIndex> hits = elasticsearchOperations.search(query, ProductIndex.class);
+        ElasticsearchAggregations aggregations = (ElasticsearchAggregations) hits.getAggregations();
+
+        Map<String, Long> counts = new HashMap<>();
+        if (aggregations != null) {
+            List<StringTermsBucket> buckets = aggregations.get("by_category").aggregation().getAggregate().sterms()
+                    .buckets().array();
+            for (StringTermsBucket bucket : buckets) {
+                counts.put(bucket.key().stringValue(), bucket.docCount());
+            }
+        }
+        return counts;
+    }
+}
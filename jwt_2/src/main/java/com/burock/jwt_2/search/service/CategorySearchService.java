@@ -1,9 +1,17 @@
 package com.burock.jwt_2.search.service;
 
+import java.util.List;
+import java.util.Map;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.document.Document;
+import org.springframework.data.elasticsearch.core.query.UpdateQuery;
+import org.springframework.data.elasticsearch.core.suggest.Completion;
 import org.springframework.stereotype.Service;
 
+import com.burock.jwt_2.dto.CursorResponse;
 import com.burock.jwt_2.model.Category;
 import com.burock.jwt_2.search.model.CategoryIndex;
 import com.burock.jwt_2.search.repository.CategorySearchRepository;
@@ -17,15 +25,31 @@ import lombok.extern.slf4j.Slf4j;
 public class CategorySearchService {
 
     private final CategorySearchRepository categorySearchRepository;
+    private final IndexWriteTracker indexWriteTracker;
+    private final ElasticsearchOperations elasticsearchOperations;
 
+    // productCount CategoryProductCounter tarafından tutulur; burada yalnızca ad yazılır, yeni dokümanda 0 olur
     public void indexCategory(Category category) {
         log.info("Kategori Elasticsearch'e indeksleniyor: {}", category.getName());
 
-        CategoryIndex categoryIndex = CategoryIndex.builder().id(category.getId().toString()).name(category.getName())
-                .description(null).productCount(0).build();
+        String id = category.getId().toString();
+        Map<String, Object> suggest = Map.of("input", List.of(category.getName()));
+        Document fields = Document.create().append("id", id).append("name", category.getName())
+                .append("suggest", suggest);
+        UpdateQuery update = UpdateQuery.builder(id).withDocument(fields)
+                .withUpsert(Document.from(
+                        Map.of("id", id, "name", category.getName(), "suggest", suggest, "productCount", 0)))
+                .build();
+
+        indexWriteTracker.recordWrite(CategoryIndex.class, id);
+        elasticsearchOperations.update(update, elasticsearchOperations.getIndexCoordinatesFor(CategoryIndex.class));
+        log.info("Kategori başarıyla indekslendi: {}", id);
+    }
 
-        categorySearchRepository.save(categoryIndex);
-        log.info("Kategori başarıyla indekslendi", categoryIndex.getId());
+    public CategoryIndex toDocument(Category category, int productCount) {
+        return CategoryIndex.builder().id(category.getId().toString()).name(category.getName())
+                .description(null).productCount(productCount)
+                .suggest(new Completion(new String[] { category.getName() })).build();
     }
 
     public Page<CategoryIndex> getAll(Pageable pageable) {
@@ -44,6 +68,15 @@ public class CategorySearchService {
         return categorySearchRepository.searchByName(name, pageable);
     }
 
+    public CursorResponse<CategoryIndex> getAll(String cursor, int size) {
+        return categorySearchRepository.findAll(cursor, size);
+    }
+
+    public CursorResponse<CategoryIndex> searchByName(String name, String cursor, int size) {
+        log.info("Kategoriler Elasticsearch ile isimle imleç ile aranıyor: '{}' ", name);
+        return categorySearchRepository.searchByName(name, cursor, size);
+    }
+
     public CategoryIndex findByName(String name) {
         log.info("Kategori Elasticsearch ile tam isimle bulunuyor: '{}' ", name);
         return categorySearchRepository.findByName(name);
@@ -51,6 +84,7 @@ public class CategorySearchService {
 
     public void deleteFromIndex(Long categoryId) {
         log.info("Kategori Elasticsearch'ten siliniyor: {}", categoryId);
+        indexWriteTracker.recordWrite(CategoryIndex.class, categoryId.toString());
         categorySearchRepository.deleteById(categoryId.toString());
         log.info("Kategori Elasticsearch'ten silindi.");
     }
@@ -62,6 +96,7 @@ public class CategorySearchService {
 
         if (categoryIndex != null) {
             categoryIndex.setProductCount(newCount);
+            indexWriteTracker.recordWrite(CategoryIndex.class, categoryIndex.getId());
             categorySearchRepository.save(categoryIndex);
             log.info("Ürün sayısı başarıyla güncellendi.");
         } else {
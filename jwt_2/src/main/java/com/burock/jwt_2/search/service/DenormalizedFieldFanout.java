@@ -0,0 +1,288 @@
+package com.burock.jwt_2.search.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.burock.jwt_2.dto.FanoutStatus;
+import com.burock.jwt_2.model.Category;
+import com.burock.jwt_2.model.Product;
+import com.burock.jwt_2.search.model.CartIndex;
+import com.burock.jwt_2.search.model.ProductIndex;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.Conflicts;
+import co.elastic.clients.elasticsearch._types.SlicesCalculation;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import co.elastic.clients.elasticsearch.tasks.GetTasksResponse;
+import co.elastic.clients.json.JsonData;
+import jakarta.json.JsonObject;
+import lombok.extern.slf4j.Slf4j;
+
+// Kategori adı ve ürün ad/fiyatı başka indekslerdeki dokümanlara kopyalanır. Kaynak değişince bu kopyalar
+// kısıtlanmış (requests_per_second) ve dilimlenmiş _update_by_query görevleriyle arka planda güncellenir.
+// Aynı kaynak için bekleyen değişiklikler birleşir; bir görev sürerken gelen değişiklik bittiğinde gönderilir.
+// Hedef indeks yeniden indekslenirken gönderilen görevler IndexWriteTracker'a kaydedilir ve alias yeni indekse
+// taşındıktan sonra tekrar çalıştırılır; aksi halde kopyası önceden alınmış dokümanlar eski değerde kalır.
+@Component
+@Slf4j
+public class DenormalizedFieldFanout {
+
+    private static final int STATUS_HISTORY_SIZE = 100;
+
+    private final ElasticsearchClient elasticsearchClient;
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final IndexWriteTracker indexWriteTracker;
+    private final Map<FanoutKey, Map<String, JsonData>> pending = new ConcurrentHashMap<>();
+    private final Map<FanoutKey, RunningTask> running = new ConcurrentHashMap<>();
+    private final Deque<FanoutStatus> history = new ConcurrentLinkedDeque<>();
+    private final float requestsPerSecond;
+    private final int maxConcurrentTasks;
+
+    public DenormalizedFieldFanout(ElasticsearchClient elasticsearchClient,
+            ElasticsearchOperations elasticsearchOperations, IndexWriteTracker indexWriteTracker,
+            @Value("${search.fanout.requests-per-second:500}") float requestsPerSecond,
+            @Value("${search.fanout.max-concurrent-tasks:4}") int maxConcurrentTasks) {
+        this.elasticsearchClient = elasticsearchClient;
+        this.elasticsearchOperations = elasticsearchOperations;
+        this.indexWriteTracker = indexWriteTracker;
+        this.requestsPerSecond = requestsPerSecond;
+        this.maxConcurrentTasks = maxConcurrentTasks;
+    }
+
+    enum FanoutRule {
+
+        PRODUCT_CATEGORY_NAME(ProductIndex.class, """
+                if (ctx._source.categoryName == params.name) { ctx.op = 'noop'; }
+                else { ctx._source.categoryName = params.name; }
+                """) {
+            @Override
+            Query query(String sourceId) {
+                return Query.of(q -> q.term(t -> t.field("categoryId").value(sourceId)));
+            }
+        },
+
+        CART_CATEGORY_NAME(CartIndex.class, """
+                boolean changed = false;
+                for (item in ctx._source.items) {
+                    if (item.categoryId == params.id && item.categoryName != params.name) {
+                        item.categoryName = params.name;
+                        changed = true;
+                    }
+                }
+                if (!changed) { ctx.op = 'noop'; }
+                """) {
+            @Override
+            Query query(String sourceId) {
+                return nestedItems("items.categoryId", sourceId);
+            }
+        },
+
+        // Fiyat değişince kalem ara toplamı ve sepet toplamı da yeniden hesaplanır
+        CART_PRODUCT(CartIndex.class, """
+                boolean changed = false;
+                double total = 0;
+                for (item in ctx._source.items) {
+                    if (item.productId == params.id) {
+                        double subtotal = params.price * item.quantity;
+                        if (item.productName != params.name || item.productPrice != params.price
+                                || item.categoryId != params.categoryId || item.categoryName != params.categoryName) {
+                            item.productName = params.name;
+                            item.productPrice = params.price;
+                            item.subtotal = subtotal;
+                            item.categoryId = params.categoryId;
+                            item.categoryName = params.categoryName;
+                            changed = true;
+                        }
+                    }
+                    total += item.subtotal;
+                }
+                if (changed) { ctx._source.totalPrice = total; } else { ctx.op = 'noop'; }
+                """) {
+            @Override
+            Query query(String sourceId) {
+                return nestedItems("items.productId", sourceId);
+            }
+        };
+
+        private final Class<?> documentClass;
+        private final String script;
+
+        FanoutRule(Class<?> documentClass, String script) {
+            this.documentClass = documentClass;
+            this.script = script;
+        }
+
+        abstract Query query(String sourceId);
+
+        private static Query nestedItems(String field, String sourceId) {
+            return Query.of(q -> q.nested(n -> n.path("items")
+                    .query(inner -> inner.term(t -> t.field(field).value(sourceId)))));
+        }
+    }
+
+    private record FanoutKey(FanoutRule rule, Long sourceId) {
+    }
+
+    // progress, görevler API'sinden son okunan task.status değeridir (total, updated, noops, version_conflicts)
+    private record RunningTask(String taskId, Map<String, JsonData> params, LocalDateTime startedAt,
+            JsonObject progress) {
+
+        private RunningTask withProgress(JsonObject progress) {
+            return new RunningTask(taskId, params, startedAt, progress);
+        }
+    }
+
+    public void categoryRenamed(Category category) {
+        Map<String, JsonData> params = Map.of(
+                "id", JsonData.of(category.getId().toString()),
+                "name", JsonData.of(category.getName()));
+        afterCommit(Map.of(
+                new FanoutKey(FanoutRule.PRODUCT_CATEGORY_NAME, category.getId()), params,
+                new FanoutKey(FanoutRule.CART_CATEGORY_NAME, category.getId()), params));
+    }
+
+    public void productChanged(Product product) {
+        Category category = product.getCategory();
+        Map<String, JsonData> params = new HashMap<>();
+        params.put("id", JsonData.of(product.getId().toString()));
+        params.put("name", JsonData.of(product.getName()));
+        params.put("price", JsonData.of(product.getPrice()));
+        if (category != null) {
+            params.put("categoryId", JsonData.of(category.getId().toString()));
+            params.put("categoryName", JsonData.of(category.getName()));
+        }
+        afterCommit(Map.of(new FanoutKey(FanoutRule.CART_PRODUCT, product.getId()), params));
+    }
+
+    // Yalnızca commit edilen değişiklikler yayılır; aynı anahtar için en son değer kalır
+    private void afterCommit(Map<FanoutKey, Map<String, JsonData>> changes) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    pending.putAll(changes);
+                }
+            });
+        } else {
+            pending.putAll(changes);
+        }
+    }
+
+    public List<FanoutStatus> getStatuses() {
+        List<FanoutStatus> statuses = new ArrayList<>();
+        running.forEach((key, task) -> statuses.add(new FanoutStatus(key.rule().name(), key.sourceId(),
+                task.taskId(), "RUNNING", count(task.progress(), "total"), count(task.progress(), "updated"),
+                count(task.progress(), "noops"), count(task.progress(), "version_conflicts"), 0, task.startedAt(),
+                null, null)));
+        pending.keySet().forEach(key -> statuses.add(new FanoutStatus(key.rule().name(), key.sourceId(), null,
+                "PENDING", 0, 0, 0, 0, 0, null, null, null)));
+        statuses.addAll(history);
+        return statuses;
+    }
+
+    @Scheduled(fixedDelayString = "${search.fanout.poll-interval:PT1S}")
+    public void dispatch() {
+        running.forEach(this::poll);
+
+        for (FanoutKey key : List.copyOf(pending.keySet())) {
+            if (running.size() >= maxConcurrentTasks) {
+                break;
+            }
+            if (running.containsKey(key)) {
+                continue;
+            }
+            Map<String, JsonData> params = pending.remove(key);
+            if (params != null) {
+                submit(key, params);
+            }
+        }
+    }
+
+    private void submit(FanoutKey key, Map<String, JsonData> params) {
+        String index = elasticsearchOperations.getIndexCoordinatesFor(key.rule().documentClass).getIndexName();
+        try {
+            String taskId = elasticsearchClient.updateByQuery(u -> u.index(index)
+                    .query(key.rule().query(key.sourceId().toString()))
+                    .script(s -> s.source(key.rule().script).params(params))
+                    .conflicts(Conflicts.Proceed)
+                    .slices(s -> s.computed(SlicesCalculation.Auto))
+                    .requestsPerSecond(requestsPerSecond)
+                    .waitForCompletion(false)).task();
+            running.put(key, new RunningTask(taskId, params, LocalDateTime.now(), null));
+            indexWriteTracker.recordFanout(key.rule().documentClass, key, () -> pending.putIfAbsent(key, params));
+            log.debug("{} için _update_by_query başlatıldı: {} (görev: {})", key.rule(), key.sourceId(), taskId);
+        } catch (Exception e) {
+            // Daha yeni bir değişiklik gelmediyse aynı değerlerle bir sonraki turda tekrar denenir
+            pending.putIfAbsent(key, params);
+            log.warn("{} için _update_by_query başlatılamadı: {}: {}", key.rule(), key.sourceId(), e.getMessage());
+        }
+    }
+
+    private void poll(FanoutKey key, RunningTask task) {
+        GetTasksResponse response;
+        try {
+            response = elasticsearchClient.tasks().get(g -> g.taskId(task.taskId()));
+        } catch (Exception e) {
+            log.warn("{} görevinin durumu okunamadı: {}", task.taskId(), e.getMessage());
+            return;
+        }
+        if (!response.completed()) {
+            // Dilimlenmiş görevde üst görevin durumu tüm dilimlerin toplamıdır
+            if (response.task().status() != null) {
+                running.replace(key, task, task.withProgress(response.task().status().toJson().asJsonObject()));
+            }
+            return;
+        }
+        running.remove(key);
+
+        if (response.error() != null) {
+            pending.putIfAbsent(key, task.params());
+            record(key, task, "FAILED", null, response.error().reason());
+            log.warn("{} için _update_by_query başarısız: {}: {}", key.rule(), key.sourceId(),
+                    response.error().reason());
+            return;
+        }
+
+        JsonObject result = response.response() != null ? response.response().toJson().asJsonObject() : null;
+        long versionConflicts = count(result, "version_conflicts");
+        long failures = failureCount(result);
+        // Eşzamanlı tam doküman yazımıyla çakışan veya hata alan dokümanlar için görev tekrarlanır
+        if (versionConflicts > 0 || failures > 0) {
+            pending.putIfAbsent(key, task.params());
+        }
+        record(key, task, failures > 0 ? "FAILED" : "COMPLETED", result, null);
+        log.debug("{} için _update_by_query tamamlandı: {} (güncellenen: {}, çakışma: {})", key.rule(),
+                key.sourceId(), count(result, "updated"), versionConflicts);
+    }
+
+    private void record(FanoutKey key, RunningTask task, String state, JsonObject result, String message) {
+        history.addFirst(new FanoutStatus(key.rule().name(), key.sourceId(), task.taskId(), state,
+                count(result, "total"), count(result, "updated"), count(result, "noops"),
+                count(result, "version_conflicts"), failureCount(result), task.startedAt(), LocalDateTime.now(),
+                message));
+        while (history.size() > STATUS_HISTORY_SIZE) {
+            history.pollLast();
+        }
+    }
+
+    private static long count(JsonObject result, String field) {
+        return result != null && result.containsKey(field) ? result.getJsonNumber(field).longValue() : 0;
+    }
+
+    private static long failureCount(JsonObject result) {
+        return result != null && result.containsKey("failures") ? result.getJsonArray("failures").size() : 0;
+    }
+}
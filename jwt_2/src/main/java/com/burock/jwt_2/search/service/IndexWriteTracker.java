@@ -0,0 +1,86 @@
+package com.burock.jwt_2.search.service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+// Yeniden indeksleme sürerken canlı yazılan doküman id'lerini toplar; yeni indeks hazır olunca
+// bu id'ler veritabanından tekrar okunup yeni indekse yazılır. Alias üzerinden çalışan _update_by_query
+// yayılımları (DenormalizedFieldFanout) doküman id'si bilmediği için ayrıca kaydedilir ve alias yeni indekse
+// taşındıktan sonra yeniden kuyruğa alınır. İndeksleme yoksa kayıt tutulmaz.
+// Takip bellekte ve JVM başınadır: yeniden indeksleme tek örnekli (single-node) kurulum içindir. Birden
+// fazla örnek varsa indekslemeyi başlatan örnek dışındaki yazmalar kaydedilmez; bu durumda indeksleme
+// sırasında diğer örneklerin yazmaları durdurulmalı ya da indeksleme bakım penceresinde yapılmalıdır.
+@Component
+public class IndexWriteTracker {
+
+    private final Map<Class<?>, TrackedWrites> active = new ConcurrentHashMap<>();
+
+    public void recordWrite(Class<?> documentClass, String id) {
+        TrackedWrites writes = active.get(documentClass);
+        if (writes != null && id != null) {
+            writes.pending.add(id);
+            writes.all.add(id);
+        }
+    }
+
+    // Aynı anahtar için yalnızca en son kayıt tutulur
+    public void recordFanout(Class<?> documentClass, Object key, Runnable requeue) {
+        TrackedWrites writes = active.get(documentClass);
+        if (writes != null) {
+            writes.fanouts.put(key, requeue);
+        }
+    }
+
+    TrackedWrites start(Class<?> documentClass) {
+        TrackedWrites writes = new TrackedWrites();
+        if (active.putIfAbsent(documentClass, writes) != null) {
+            throw new IllegalStateException("Bu indeks için yazma takibi zaten açık: " + documentClass.getSimpleName());
+        }
+        return writes;
+    }
+
+    void stop(Class<?> documentClass) {
+        active.remove(documentClass);
+    }
+
+    static class TrackedWrites {
+
+        private final Set<String> pending = ConcurrentHashMap.newKeySet();
+        private final Set<String> all = ConcurrentHashMap.newKeySet();
+        private final Map<Object, Runnable> fanouts = new ConcurrentHashMap<>();
+
+        // Son çağrıdan bu yana yazılan id'ler
+        List<String> drain() {
+            List<String> ids = new ArrayList<>();
+            Iterator<String> iterator = pending.iterator();
+            while (iterator.hasNext()) {
+                ids.add(iterator.next());
+                iterator.remove();
+            }
+            return ids;
+        }
+
+        // İndeksleme boyunca yazılan tüm id'ler
+        List<String> all() {
+            return new ArrayList<>(all);
+        }
+
+        // İndeksleme boyunca eski indekse uygulanan yayılımları yeniden kuyruğa alır
+        int requeueFanouts() {
+            int count = 0;
+            Iterator<Runnable> iterator = fanouts.values().iterator();
+            while (iterator.hasNext()) {
+                iterator.next().run();
+                iterator.remove();
+                count++;
+            }
+            return count;
+        }
+    }
+}
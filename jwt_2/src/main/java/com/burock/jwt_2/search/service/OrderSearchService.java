@@ -1,23 +1,46 @@
 package com.burock.jwt_2.search.service;
 
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import com.burock.jwt_2.dto.CursorResponse;
 import com.burock.jwt_2.model.Order;
 import com.burock.jwt_2.search.model.OrderIndex;
 import com.burock.jwt_2.search.repository.OrderSearchRepository;
 
-import lombok.RequiredArgsConstructor;
-
 @Service
-@RequiredArgsConstructor
 public class OrderSearchService {
 
     private final OrderSearchRepository orderSearchRepository;
+    private final IndexWriteTracker indexWriteTracker;
+    private final boolean readModelEnabled;
+
+    public OrderSearchService(OrderSearchRepository orderSearchRepository, IndexWriteTracker indexWriteTracker,
+            @Value("${orders.read-model.elasticsearch-enabled:false}") boolean readModelEnabled) {
+        this.orderSearchRepository = orderSearchRepository;
+        this.indexWriteTracker = indexWriteTracker;
+        this.readModelEnabled = readModelEnabled;
+    }
+
+    // Açıksa kullanıcı sipariş geçmişi veritabanı yerine bu indeksten okunur
+    public boolean isReadModelEnabled() {
+        return readModelEnabled;
+    }
 
     public void indexOrder(Order order) {
-        OrderIndex doc = OrderIndex.builder()
+        OrderIndex doc = toDocument(order);
+        indexWriteTracker.recordWrite(OrderIndex.class, doc.getId());
+        orderSearchRepository.save(doc);
+    }
+
+    public OrderIndex toDocument(Order order) {
+        return OrderIndex.builder()
                 .id(order.getId().toString())
                 .orderNumber(order.getOrderNumber())
                 .userId(order.getUser().getId().toString())
@@ -28,9 +51,17 @@ public class OrderSearchService {
                 .deliveryDate(order.getDeliveryDate())
                 .shippingAddress(order.getShippingAddress())
                 .notes(order.getNotes())
+                .items(order.getOrderItems().stream()
+                        .map(item -> OrderIndex.OrderItemIndex.builder()
+                                .id(item.getId().toString())
+                                .productId(item.getProduct().getId().toString())
+                                .productName(item.getProduct().getName())
+                                .quantity(item.getQuantity())
+                                .unitPrice(item.getUnitPrice())
+                                .totalPrice(item.getTotalPrice())
+                                .build())
+                        .collect(Collectors.toList()))
                 .build();
-
-        orderSearchRepository.save(doc);
     }
 
     public Page<OrderIndex> getAll(Pageable pageable) {
@@ -45,11 +76,30 @@ public class OrderSearchService {
         return orderSearchRepository.findByStatus(status, pageable);
     }
 
+    public CursorResponse<OrderIndex> searchOrders(String query, String cursor, int size) {
+        return orderSearchRepository.searchByText(query, cursor, size);
+    }
+
+    public CursorResponse<OrderIndex> findByStatus(String status, String cursor, int size) {
+        return orderSearchRepository.findByStatus(status, cursor, size);
+    }
+
     public Page<OrderIndex> findByUsername(String username, Pageable pageable) {
         return orderSearchRepository.findByUsername(username, pageable);
     }
 
+    public Page<OrderIndex> findUserOrders(Long userId, Pageable pageable) {
+        return orderSearchRepository.findByUserIdOrderByOrderDateDesc(userId.toString(), pageable);
+    }
+
+    public List<OrderIndex> findAllUserOrders(Long userId) {
+        try (Stream<OrderIndex> orders = orderSearchRepository.streamByUserIdOrderByOrderDateDesc(userId.toString())) {
+            return orders.collect(Collectors.toList());
+        }
+    }
+
     public void deleteFromIndex(Long orderId) {
+        indexWriteTracker.recordWrite(OrderIndex.class, orderId.toString());
         orderSearchRepository.deleteById(orderId.toString());
     }
 }
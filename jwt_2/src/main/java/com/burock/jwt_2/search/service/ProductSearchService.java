@@ -1,9 +1,16 @@
 package com.burock.jwt_2.search.service;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.core.suggest.Completion;
 import org.springframework.stereotype.Service;
 
+import com.burock.jwt_2.dto.CursorResponse;
+import com.burock.jwt_2.dto.ProductFacetFilter;
+import com.burock.jwt_2.dto.ProductFacets;
 import com.burock.jwt_2.model.Product;
 import com.burock.jwt_2.search.model.ProductIndex;
 import com.burock.jwt_2.search.repository.ProductSearchRepository;
@@ -15,14 +22,20 @@ import lombok.RequiredArgsConstructor;
 public class ProductSearchService {
 
     private final ProductSearchRepository productSearchRepository;
+    private final IndexWriteTracker indexWriteTracker;
 
     public void indexProduct(Product p) {
-        ProductIndex doc = ProductIndex.builder().id(p.getId().toString()).name(p.getName()).price(p.getPrice())
+        ProductIndex doc = toDocument(p);
+        indexWriteTracker.recordWrite(ProductIndex.class, doc.getId());
+        productSearchRepository.save(doc);
+    }
+
+    public ProductIndex toDocument(Product p) {
+        return ProductIndex.builder().id(p.getId().toString()).name(p.getName()).price(p.getPrice())
                 .stock(p.getStock())
                 .categoryId(p.getCategory() != null ? String.valueOf(p.getCategory().getId()) : null)
-                .categoryName(p.getCategory() != null ? p.getCategory().getName() : null).build();
-
-        productSearchRepository.save(doc);
+                .categoryName(p.getCategory() != null ? p.getCategory().getName() : null)
+                .suggest(new Completion(new String[] { p.getName() })).build();
     }
 
     public Page<ProductIndex> getAll(Pageable pageable) {
@@ -33,6 +46,11 @@ public class ProductSearchService {
         return productSearchRepository.findById(id.toString()).orElseThrow(() -> new RuntimeException("Ürün Bulunamadı:"+ id));
     }
 
+    // Çok sayıda ürün için tek _mget; indekste olmayan id'ler sonuçta yer almaz
+    public List<ProductIndex> getByIds(Collection<Long> ids) {
+        return productSearchRepository.findAllByIds(ids.stream().map(String::valueOf).distinct().toList());
+    }
+
     public Page<ProductIndex> search(String q, Pageable pageable) {
         return productSearchRepository.searchByText(q, pageable);
     }
@@ -42,6 +60,7 @@ public class ProductSearchService {
     }
 
     public void deleteFromIndex(Long productId) {
+        indexWriteTracker.recordWrite(ProductIndex.class, productId.toString());
         productSearchRepository.deleteById(productId.toString());
     }
 
@@ -52,4 +71,28 @@ public class ProductSearchService {
     public Page<ProductIndex> findInStock(Pageable pageable) {
         return productSearchRepository.findInStock(pageable);
     }
+
+    public ProductFacets facetSearch(ProductFacetFilter filter, Pageable pageable) {
+        return productSearchRepository.facetSearch(filter, pageable);
+    }
+
+    public CursorResponse<ProductIndex> getAll(String cursor, int size) {
+        return productSearchRepository.findAll(cursor, size);
+    }
+
+    public CursorResponse<ProductIndex> search(String q, String cursor, int size) {
+        return productSearchRepository.searchByText(q, cursor, size);
+    }
+
+    public CursorResponse<ProductIndex> byCategory(Long categoryId, String cursor, int size) {
+        return productSearchRepository.findByCategoryId(String.valueOf(categoryId), cursor, size);
+    }
+
+    public CursorResponse<ProductIndex> findByPriceRange(double minPrice, double maxPrice, String cursor, int size) {
+        return productSearchRepository.findByPriceBetween(minPrice, maxPrice, cursor, size);
+    }
+
+    public CursorResponse<ProductIndex> findInStock(String cursor, int size) {
+        return productSearchRepository.findInStock(cursor, size);
+    }
 }
@@ -0,0 +1,131 @@
+package com.burock.jwt_2.search.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.elasticsearch.BulkFailureException;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.document.Document;
+import org.springframework.data.elasticsearch.core.query.UpdateQuery;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.burock.jwt_2.dto.ProductStockPrice;
+import com.burock.jwt_2.model.Product;
+import com.burock.jwt_2.repository.ProductRepository;
+import com.burock.jwt_2.search.model.ProductIndex;
+
+import lombok.extern.slf4j.Slf4j;
+
+// Sipariş akışında değişen ürünlerin stok ve fiyatı arama indeksine tüm doküman yerine kısmi _update ile
+// yazılır. Commit edilen ürün id'leri biriktirilir; her turda güncel değerler tek sorguyla okunup tek _bulk
+// isteğiyle gönderilir. Aynı ürün bir tur içinde kaç kez satılırsa satılsın tek yazma yapılır.
+@Component
+@Slf4j
+public class ProductStockIndexUpdater {
+
+    private final ProductRepository productRepository;
+    private final ProductSearchService productSearchService;
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final IndexWriteTracker indexWriteTracker;
+    private final TransactionTemplate transactionTemplate;
+    private final Set<Long> dirtyProductIds = ConcurrentHashMap.newKeySet();
+    private final int batchSize;
+
+    public ProductStockIndexUpdater(ProductRepository productRepository, ProductSearchService productSearchService,
+            ElasticsearchOperations elasticsearchOperations, IndexWriteTracker indexWriteTracker,
+            PlatformTransactionManager transactionManager,
+            @Value("${search.product-updates.batch-size:500}") int batchSize) {
+        this.productRepository = productRepository;
+        this.productSearchService = productSearchService;
+        this.elasticsearchOperations = elasticsearchOperations;
+        this.indexWriteTracker = indexWriteTracker;
+        // Replikadaki gecikmiş stok değeri indekse yazılmasın diye birincil okunur
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    // Geri alınan transaction'ların değişiklikleri indekse taşınmaz
+    public void markChanged(Collection<Product> products) {
+        List<Long> ids = products.stream().map(Product::getId).distinct().toList();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dirtyProductIds.addAll(ids);
+                }
+            });
+        } else {
+            dirtyProductIds.addAll(ids);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${search.product-updates.flush-interval:PT1S}")
+    public void flush() {
+        List<Long> ids = drain();
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            List<Long> chunk = ids.subList(from, Math.min(from + batchSize, ids.size()));
+            try {
+                flushChunk(chunk);
+            } catch (RuntimeException e) {
+                // Değerler her seferinde veritabanından okunduğu için tekrar denemek güvenlidir
+                dirtyProductIds.addAll(chunk);
+                log.warn("Ürün stok/fiyat güncellemeleri indekse yazılamadı, tekrar denenecek ({} ürün): {}",
+                        chunk.size(), e.getMessage());
+            }
+        }
+    }
+
+    private void flushChunk(List<Long> chunk) {
+        List<ProductStockPrice> rows = transactionTemplate
+                .execute(status -> productRepository.findStockAndPriceByIdIn(chunk));
+        if (rows == null || rows.isEmpty()) {
+            return;
+        }
+
+        List<UpdateQuery> updates = new ArrayList<>(rows.size());
+        for (ProductStockPrice row : rows) {
+            String id = row.id().toString();
+            indexWriteTracker.recordWrite(ProductIndex.class, id);
+            updates.add(UpdateQuery.builder(id)
+                    .withDocument(Document.create().append("stock", row.stock()).append("price", row.price()))
+                    .build());
+        }
+
+        try {
+            elasticsearchOperations.bulkUpdate(updates, ProductIndex.class);
+            log.debug("{} ürünün stok/fiyatı indekste güncellendi", updates.size());
+        } catch (BulkFailureException e) {
+            // Çoğunlukla indekste henüz olmayan doküman; tam doküman olarak yazılır
+            Set<Long> failedIds = new HashSet<>();
+            e.getFailedDocuments().keySet().forEach(id -> failedIds.add(Long.valueOf(id)));
+            log.warn("{} ürün kısmi güncellenemedi, tam doküman olarak indeksleniyor", failedIds.size());
+            reindexFully(failedIds);
+        }
+    }
+
+    private void reindexFully(Set<Long> productIds) {
+        transactionTemplate.executeWithoutResult(status -> productRepository.findWithCategoryByIdIn(productIds)
+                .forEach(productSearchService::indexProduct));
+    }
+
+    private List<Long> drain() {
+        List<Long> ids = new ArrayList<>();
+        Iterator<Long> iterator = dirtyProductIds.iterator();
+        while (iterator.hasNext()) {
+            ids.add(iterator.next());
+            iterator.remove();
+        }
+        return ids;
+    }
+}
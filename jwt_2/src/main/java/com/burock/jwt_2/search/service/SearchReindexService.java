@@ -0,0 +1,411 @@
+package com.burock.jwt_2.search.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.elasticsearch.BulkFailureException;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.IndexOperations;
+import org.springframework.data.elasticsearch.core.document.Document;
+import org.springframework.data.elasticsearch.core.index.Settings;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.IndexQuery;
+import org.springframework.data.elasticsearch.core.query.IndexQueryBuilder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.burock.jwt_2.dto.CategoryProductCount;
+import com.burock.jwt_2.dto.ReindexStatus;
+import com.burock.jwt_2.repository.CartRepository;
+import com.burock.jwt_2.repository.CategoryRepository;
+import com.burock.jwt_2.repository.OrderRepository;
+import com.burock.jwt_2.repository.ProductRepository;
+import com.burock.jwt_2.search.model.CartIndex;
+import com.burock.jwt_2.search.model.CategoryIndex;
+import com.burock.jwt_2.search.model.OrderIndex;
+import com.burock.jwt_2.search.model.ProductIndex;
+import com.burock.jwt_2.search.service.IndexWriteTracker.TrackedWrites;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import lombok.extern.slf4j.Slf4j;
+
+// Uygulama indekslere hep alias adıyla (products, categories, orders, carts) erişir. Yeniden indeksleme
+// yeni bir sürümlü indeks (<alias>_v<zaman>) oluşturur, Postgres'ten keyset ile okuyup paralel _bulk ile
+// doldurur, bu sırada canlı yazılan dokümanları tekrar oynatır ve alias'ı tek istekte yeni indekse taşır.
+// Canlı yazmalar IndexWriteTracker ile yalnızca bu JVM'de takip edilir; birden fazla uygulama örneği
+// çalışıyorsa diğer örneklerin yazdıkları tekrar oynatılmaz (bkz. IndexWriteTracker).
+@Service
+@Slf4j
+public class SearchReindexService {
+
+    private static final int MAX_REPLAY_PASSES = 5;
+
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final ElasticsearchClient elasticsearchClient;
+    private final IndexWriteTracker indexWriteTracker;
+    private final TransactionTemplate primaryTransaction;
+    private final Map<String, ReindexSource<?>> sources = new LinkedHashMap<>();
+    private final Map<String, ReindexJob> jobs = new ConcurrentHashMap<>();
+    private final int batchSize;
+    private final int parallelBulkRequests;
+    private final Duration settleDelay;
+    private final boolean deleteOldIndex;
+
+    public SearchReindexService(ElasticsearchOperations elasticsearchOperations,
+            ElasticsearchClient elasticsearchClient, IndexWriteTracker indexWriteTracker,
+            PlatformTransactionManager transactionManager, ProductRepository productRepository,
+            CategoryRepository categoryRepository, OrderRepository orderRepository, CartRepository cartRepository,
+            ProductSearchService productSearchService, CategorySearchService categorySearchService,
+            OrderSearchService orderSearchService, CartSearchService cartSearchService,
+            @Value("${search.reindex.batch-size:1000}") int batchSize,
+            @Value("${search.reindex.parallel-bulk-requests:4}") int parallelBulkRequests,
+            @Value("${search.reindex.settle-delay:2s}") Duration settleDelay,
+            @Value("${search.reindex.delete-old-index:true}") boolean deleteOldIndex) {
+        this.elasticsearchOperations = elasticsearchOperations;
+        this.elasticsearchClient = elasticsearchClient;
+        this.indexWriteTracker = indexWriteTracker;
+        // Kopyalama ve tekrar oynatma en güncel veriyi okumalı; salt okunur transaction replikaya
+        // yönlendirileceği için readOnly işaretlenmez ve okumalar birincile gider. Replika gecikmesi
+        // kopyalamaya girerse, takip başlamadan hemen önce yazılan değişiklikler yeni indekse hiç ulaşmaz.
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.parallelBulkRequests = parallelBulkRequests;
+        this.settleDelay = settleDelay;
+        this.deleteOldIndex = deleteOldIndex;
+
+        register(new ReindexSource<>(ProductIndex.class, productRepository::findIdsAfter,
+                ids -> productRepository.findWithCategoryByIdIn(ids).stream()
+                        .map(productSearchService::toDocument).toList(),
+                ProductIndex::getId));
+        register(new ReindexSource<>(CategoryIndex.class, categoryRepository::findIdsAfter,
+                ids -> {
+                    Map<Long, Long> counts = productRepository.countByCategoryIds(ids).stream()
+                            .collect(Collectors.toMap(CategoryProductCount::categoryId,
+                                    CategoryProductCount::productCount));
+                    return categoryRepository.findAllById(ids).stream()
+                            .map(category -> categorySearchService.toDocument(category,
+                                    counts.getOrDefault(category.getId(), 0L).intValue()))
+                            .toList();
+                },
+                CategoryIndex::getId));
+        register(new ReindexSource<>(OrderIndex.class, orderRepository::findIdsAfter,
+                ids -> orderRepository.findWithItemsByIdIn(ids).stream()
+                        .map(orderSearchService::toDocument).toList(),
+                OrderIndex::getId));
+        register(new ReindexSource<>(CartIndex.class, cartRepository::findIdsAfter,
+                ids -> cartRepository.findWithItemsByIdIn(ids).stream()
+                        .map(cartSearchService::toDocument).toList(),
+                CartIndex::getId));
+    }
+
+    private void register(ReindexSource<?> source) {
+        sources.put(aliasOf(source.documentClass()), source);
+    }
+
+    // İlk açılışta alias yoksa sürümlü indeks oluşturulup alias bağlanır. Alias adıyla eski tip
+    // (düz) bir indeks varsa alias'a çevrilmez; ilk yeniden indekslemede alias'a dönüştürülür. Var olan
+    // indekslere doküman sınıfındaki güncel mapping uygulanır.
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureAliases() {
+        for (Map.Entry<String, ReindexSource<?>> entry : sources.entrySet()) {
+            String alias = entry.getKey();
+            try {
+                if (elasticsearchClient.indices().exists(e -> e.index(alias)).value()) {
+                    if (!isAlias(alias)) {
+                        log.warn("{} alias değil düz bir indeks; yeniden indeksleme ile alias'a dönüştürülebilir", alias);
+                    }
+                    updateMapping(entry.getValue().documentClass(), alias);
+                    continue;
+                }
+                String index = versionedName(alias);
+                createIndex(entry.getValue().documentClass(), index, false);
+                elasticsearchClient.indices().updateAliases(u -> u.actions(a -> a.add(x -> x.index(index).alias(alias))));
+                log.info("{} indeksi oluşturuldu ve {} alias'ı bağlandı", index, alias);
+            } catch (IOException | RuntimeException e) {
+                log.error("{} alias'ı hazırlanamadı: {}", alias, e.getMessage());
+            }
+        }
+    }
+
+    public List<ReindexStatus> getStatuses() {
+        return jobs.values().stream().map(ReindexJob::toStatus).toList();
+    }
+
+    public ReindexStatus start(String alias) {
+        ReindexSource<?> source = sources.get(alias);
+        if (source == null) {
+            throw new RuntimeException("Bilinmeyen indeks: " + alias + " (geçerli: " + sources.keySet() + ")");
+        }
+        ReindexJob job = new ReindexJob(alias, versionedName(alias));
+        // Kontrol ve kayıt tek atomik adımdır; aynı anda gelen iki istekten yalnızca biri işi başlatır
+        ReindexJob registered = jobs.compute(alias,
+                (key, previous) -> previous != null && previous.running() ? previous : job);
+        if (registered != job) {
+            throw new RuntimeException("Bu indeks için yeniden indeksleme zaten sürüyor: " + alias);
+        }
+        Thread.ofVirtual().name("reindex-" + alias).start(() -> run(source, job));
+        return job.toStatus();
+    }
+
+    private <D> void run(ReindexSource<D> source, ReindexJob job) {
+        log.info("Yeniden indeksleme başladı: {} -> {}", job.alias, job.targetIndex);
+        boolean swapped = false;
+        boolean tracking = false;
+        try {
+            TrackedWrites writes = indexWriteTracker.start(source.documentClass());
+            tracking = true;
+            createIndex(source.documentClass(), job.targetIndex, true);
+            copy(source, job);
+            if (job.failed.get() > 0) {
+                throw new RuntimeException(job.failed.get() + " doküman indekslenemedi");
+            }
+
+            // Kopyalama sırasında yazılanlar; yeni yazma kalmayana kadar (en fazla MAX_REPLAY_PASSES tur)
+            for (int pass = 0; pass < MAX_REPLAY_PASSES; pass++) {
+                List<String> ids = writes.drain();
+                if (ids.isEmpty()) {
+                    break;
+                }
+                replay(source, job, ids);
+            }
+
+            elasticsearchClient.indices().putSettings(p -> p.index(job.targetIndex)
+                    .settings(s -> s.refreshInterval(t -> t.time("1s"))));
+            elasticsearchOperations.indexOps(IndexCoordinates.of(job.targetIndex)).refresh();
+            Set<String> oldIndices = swapAlias(job.alias, job.targetIndex);
+            swapped = true;
+
+            // Alias taşınmadan hemen önce eski indekse yazılanlar ve commit'i geciken transaction'lar için
+            // takip edilen tüm id'ler veritabanından son kez okunur
+            Thread.sleep(settleDelay.toMillis());
+            replay(source, job, writes.all());
+            // Kopyalanmış dokümanlara eski indekste uygulanan yayılımlar artık alias üzerinden yeni indekse gider
+            int fanouts = writes.requeueFanouts();
+            if (fanouts > 0) {
+                log.info("{} için {} yayılım yeni indekse uygulanmak üzere kuyruğa alındı", job.alias, fanouts);
+            }
+
+            if (deleteOldIndex) {
+                for (String oldIndex : oldIndices) {
+                    elasticsearchOperations.indexOps(IndexCoordinates.of(oldIndex)).delete();
+                    log.info("Eski indeks silindi: {}", oldIndex);
+                }
+            }
+            job.finish("COMPLETED", null);
+            log.info("Yeniden indeksleme tamamlandı: {} -> {} (kopyalanan: {}, tekrar oynatılan: {})", job.alias,
+                    job.targetIndex, job.copied.get(), job.replayed.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.finish("FAILED", "İşlem kesildi");
+        } catch (Exception e) {
+            log.error("Yeniden indeksleme başarısız: {} -> {}: {}", job.alias, job.targetIndex, e.getMessage());
+            job.finish("FAILED", e.getMessage());
+            if (!swapped) {
+                deleteQuietly(job.targetIndex);
+            }
+        } finally {
+            // Takip başlatılamadıysa açık olan takip başka bir işe aittir, kapatılmaz
+            if (tracking) {
+                indexWriteTracker.stop(source.documentClass());
+            }
+        }
+    }
+
+    // Sayfalar sırayla okunur, _bulk istekleri paralel gönderilir; en fazla parallelBulkRequests sayfa bellekte bekler
+    private <D> void copy(ReindexSource<D> source, ReindexJob job) {
+        IndexCoordinates target = IndexCoordinates.of(job.targetIndex);
+        Semaphore inFlight = new Semaphore(parallelBulkRequests);
+        try (ExecutorService bulkExecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+            long afterId = 0;
+            while (true) {
+                long cursor = afterId;
+                List<D> documents = primaryTransaction.execute(status -> {
+                    List<Long> ids = source.nextIds().apply(cursor, PageRequest.of(0, batchSize));
+                    return ids.isEmpty() ? List.of() : source.loader().apply(ids);
+                });
+                if (documents == null || documents.isEmpty()) {
+                    break;
+                }
+                afterId = documents.stream().mapToLong(document -> Long.parseLong(source.idOf().apply(document)))
+                        .max().orElseThrow();
+                inFlight.acquireUninterruptibly();
+                bulkExecutor.submit(() -> {
+                    try {
+                        job.copied.addAndGet(bulkIndex(source, documents, target, job));
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+    }
+
+    private <D> void replay(ReindexSource<D> source, ReindexJob job, List<String> ids) {
+        IndexCoordinates target = IndexCoordinates.of(job.targetIndex);
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            List<Long> chunk = ids.subList(from, Math.min(from + batchSize, ids.size())).stream()
+                    .map(Long::valueOf).toList();
+            List<D> documents = primaryTransaction.execute(status -> source.loader().apply(chunk));
+            Set<String> found = new HashSet<>();
+            if (documents != null && !documents.isEmpty()) {
+                documents.forEach(document -> found.add(source.idOf().apply(document)));
+                bulkIndex(source, documents, target, job);
+            }
+            // Veritabanında artık olmayanlar yeni indeksten de silinir
+            for (Long id : chunk) {
+                if (!found.contains(id.toString())) {
+                    elasticsearchOperations.delete(id.toString(), target);
+                }
+            }
+            job.replayed.addAndGet(chunk.size());
+        }
+    }
+
+    private <D> int bulkIndex(ReindexSource<D> source, List<D> documents, IndexCoordinates target, ReindexJob job) {
+        List<IndexQuery> queries = new ArrayList<>(documents.size());
+        for (D document : documents) {
+            queries.add(new IndexQueryBuilder().withId(source.idOf().apply(document)).withObject(document).build());
+        }
+        try {
+            elasticsearchOperations.bulkIndex(queries, target);
+            return documents.size();
+        } catch (BulkFailureException e) {
+            job.failed.addAndGet(e.getFailedDocuments().size());
+            log.warn("{} içinde {} doküman indekslenemedi", target.getIndexName(), e.getFailedDocuments().size());
+            return documents.size() - e.getFailedDocuments().size();
+        } catch (RuntimeException e) {
+            job.failed.addAndGet(documents.size());
+            log.error("{} için _bulk isteği başarısız: {}", target.getIndexName(), e.getMessage());
+            return 0;
+        }
+    }
+
+    // Mapping ve ayarlar doküman sınıfından üretilir; dolum sırasında refresh kapalıdır
+    private void createIndex(Class<?> documentClass, String index, boolean bulkLoad) {
+        IndexOperations entityOps = elasticsearchOperations.indexOps(documentClass);
+        Settings settings = entityOps.createSettings(documentClass);
+        if (bulkLoad) {
+            settings.put("index.refresh_interval", "-1");
+        }
+        Document mapping = entityOps.createMapping(documentClass);
+        elasticsearchOperations.indexOps(IndexCoordinates.of(index)).create(settings, mapping);
+    }
+
+    // Alias tek updateAliases isteğinde taşınır; okuma ve yazmalar hiçbir an alias'sız kalmaz
+    private Set<String> swapAlias(String alias, String newIndex) throws IOException {
+        boolean aliasExists = isAlias(alias);
+        boolean legacyIndex = !aliasExists && elasticsearchClient.indices().exists(e -> e.index(alias)).value();
+        Set<String> oldIndices = aliasExists
+                ? new HashSet<>(elasticsearchClient.indices().getAlias(g -> g.name(alias)).result().keySet())
+                : new HashSet<>();
+
+        elasticsearchClient.indices().updateAliases(u -> {
+            u.actions(a -> a.add(x -> x.index(newIndex).alias(alias)));
+            for (String oldIndex : oldIndices) {
+                u.actions(a -> a.remove(x -> x.index(oldIndex).alias(alias)));
+            }
+            if (legacyIndex) {
+                // Alias ile aynı adı taşıyan düz indeks aynı istekte silinir
+                u.actions(a -> a.removeIndex(x -> x.index(alias)));
+            }
+            return u;
+        });
+        log.info("{} alias'ı {} indeksine taşındı (önceki: {})", alias, newIndex,
+                legacyIndex ? alias : oldIndices);
+        return oldIndices;
+    }
+
+    // Yeni alanlar mevcut indekse eklenebilir, ancak var olan bir alanın tipi değiştirilemez (ör. orders
+    // indeksinde dinamik object olarak oluşmuş items alanı nested yapılamaz). Bu durumda Elasticsearch
+    // isteği reddeder ve nested sorgular o alanda hata verir; POST /search/admin/reindex/{alias} ile
+    // yeni mapping'le yeniden indeksleme gerekir.
+    private void updateMapping(Class<?> documentClass, String alias) {
+        try {
+            Document mapping = elasticsearchOperations.indexOps(documentClass).createMapping(documentClass);
+            elasticsearchOperations.indexOps(IndexCoordinates.of(alias)).putMapping(mapping);
+        } catch (RuntimeException e) {
+            log.warn("{} mapping'i güncellenemedi, yeniden indeksleme gerekli (POST /search/admin/reindex/{}): {}",
+                    alias, alias, e.getMessage());
+        }
+    }
+
+    private boolean isAlias(String alias) throws IOException {
+        return elasticsearchClient.indices().existsAlias(e -> e.name(alias)).value();
+    }
+
+    private void deleteQuietly(String index) {
+        try {
+            elasticsearchOperations.indexOps(IndexCoordinates.of(index)).delete();
+        } catch (RuntimeException e) {
+            log.warn("Yarım kalan indeks silinemedi: {}: {}", index, e.getMessage());
+        }
+    }
+
+    private String aliasOf(Class<?> documentClass) {
+        return elasticsearchOperations.getIndexCoordinatesFor(documentClass).getIndexName();
+    }
+
+    private static String versionedName(String alias) {
+        return alias + "_v" + System.currentTimeMillis();
+    }
+
+    private record ReindexSource<D>(Class<D> documentClass,
+            BiFunction<Long, PageRequest, List<Long>> nextIds,
+            Function<Collection<Long>, List<D>> loader,
+            Function<D, String> idOf) {
+    }
+
+    private static class ReindexJob {
+
+        private final String alias;
+        private final String targetIndex;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final AtomicLong copied = new AtomicLong();
+        private final AtomicLong replayed = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private volatile String state = "RUNNING";
+        private volatile String message;
+        private volatile LocalDateTime finishedAt;
+
+        private ReindexJob(String alias, String targetIndex) {
+            this.alias = alias;
+            this.targetIndex = targetIndex;
+        }
+
+        private boolean running() {
+            return "RUNNING".equals(state);
+        }
+
+        private void finish(String state, String message) {
+            this.message = message;
+            this.finishedAt = LocalDateTime.now();
+            this.state = state;
+        }
+
+        private ReindexStatus toStatus() {
+            return new ReindexStatus(alias, targetIndex, state, copied.get(), replayed.get(), failed.get(),
+                    startedAt, finishedAt, message);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.burock.jwt_2.search.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.stereotype.Service;
+
+import com.burock.jwt_2.dto.SearchSuggestion;
+import com.burock.jwt_2.search.model.CategoryIndex;
+import com.burock.jwt_2.search.model.ProductIndex;
+import com.burock.jwt_2.search.repository.SearchQueries;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.search.CompletionSuggestOption;
+import co.elastic.clients.elasticsearch.core.search.Suggestion;
+import lombok.extern.slf4j.Slf4j;
+
+// Arama kutusu her tuşta buraya gelir. Ürün ve kategori adları completion suggester ile (bellekteki FST)
+// tek istekte, _source okunmadan aranır. Aynı önek için yanıt kısa süre bellekte tutulur; eşzamanlı
+// aynı önek istekleri tek Elasticsearch çağrısını bekler.
+@Service
+@Slf4j
+public class SearchSuggestService {
+
+    private static final String SUGGESTER = "names";
+    private static final String FIELD = "suggest";
+
+    private final ElasticsearchClient elasticsearchClient;
+    private final String productIndex;
+    private final String categoryIndex;
+    private final Cache<SuggestKey, List<SearchSuggestion>> cache;
+    private final int maxSize;
+
+    public SearchSuggestService(ElasticsearchClient elasticsearchClient,
+            ElasticsearchOperations elasticsearchOperations,
+            @Value("${search.suggest.max-size:10}") int maxSize,
+            @Value("${search.suggest.cache-ttl:PT30S}") Duration cacheTtl,
+            @Value("${search.suggest.cache-size:10000}") long cacheSize) {
+        this.elasticsearchClient = elasticsearchClient;
+        this.productIndex = elasticsearchOperations.getIndexCoordinatesFor(ProductIndex.class).getIndexName();
+        this.categoryIndex = elasticsearchOperations.getIndexCoordinatesFor(CategoryIndex.class).getIndexName();
+        this.maxSize = maxSize;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(cacheTtl)
+                .build();
+    }
+
+    private record SuggestKey(String prefix, int size) {
+    }
+
+    public List<SearchSuggestion> suggest(String prefix, int size) {
+        String normalized = SearchQueries.text(prefix).toLowerCase(Locale.ROOT);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        return cache.get(new SuggestKey(normalized, Math.max(1, Math.min(size, maxSize))), this::load);
+    }
+
+    private List<SearchSuggestion> load(SuggestKey key) {
+        SearchResponse<Void> response;
+        try {
+            response = elasticsearchClient.search(s -> s
+                    .index(productIndex, categoryIndex)
+                    .source(src -> src.fetch(false))
+                    .size(0)
+                    .suggest(sg -> sg.suggesters(SUGGESTER, f -> f
+                            .prefix(key.prefix())
+                            .completion(c -> c.field(FIELD).size(key.size()).skipDuplicates(true)))),
+                    Void.class);
+        } catch (IOException e) {
+            throw new RuntimeException("Öneriler alınamadı: " + e.getMessage(), e);
+        }
+
+        List<SearchSuggestion> suggestions = new ArrayList<>();
+        for (Suggestion<Void> suggestion : response.suggest().getOrDefault(SUGGESTER, List.of())) {
+            for (CompletionSuggestOption<Void> option : suggestion.completion().options()) {
+                // Alias arkasındaki sürümlü indeks adı alias ile başlar (products_v...)
+                String type = option.index() != null && option.index().startsWith(categoryIndex) ? "CATEGORY"
+                        : "PRODUCT";
+                suggestions.add(new SearchSuggestion(option.text(), type, option.id()));
+            }
+        }
+        log.debug("'{}' için {} öneri bulundu", key.prefix(), suggestions.size());
+        return suggestions;
+    }
+}
@@ -1,18 +1,27 @@
 package com.burock.jwt_2.service;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.burock.jwt_2.config.NoDatabaseAccess;
 import com.burock.jwt_2.dto.AddToCartRequest;
 import com.burock.jwt_2.dto.CartItemResponse;
+import com.burock.jwt_2.dto.CartLineQuantity;
 import com.burock.jwt_2.dto.CartResponse;
+import com.burock.jwt_2.dto.CursorResponse;
 import com.burock.jwt_2.model.Cart;
 import com.burock.jwt_2.model.CartLine;
 import com.burock.jwt_2.model.Product;
@@ -21,13 +30,13 @@ import com.burock.jwt_2.repository.CartItemRepository;
 import com.burock.jwt_2.repository.CartRepository;
 import com.burock.jwt_2.repository.ProductRepository;
 import com.burock.jwt_2.search.model.CartIndex;
+import com.burock.jwt_2.search.model.ProductIndex;
 import com.burock.jwt_2.search.service.CartSearchService;
+import com.burock.jwt_2.search.service.ProductSearchService;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @Service
-@RequiredArgsConstructor
 @Transactional
 @Slf4j
 public class CartService {
@@ -36,38 +45,85 @@ public class CartService {
     private final CartItemRepository cartItemRepository;
     private final ProductRepository productRepository;
     private final CartSearchService cartSearchService;
+    private final ProductSearchService productSearchService;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public CartService(CartRepository cartRepository, CartItemRepository cartItemRepository,
+            ProductRepository productRepository, CartSearchService cartSearchService,
+            ProductSearchService productSearchService, PlatformTransactionManager transactionManager) {
+        this.cartRepository = cartRepository;
+        this.cartItemRepository = cartItemRepository;
+        this.productRepository = productRepository;
+        this.cartSearchService = cartSearchService;
+        this.productSearchService = productSearchService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
 
     // GET işlemleri Elasticsearch ile
     
+    @NoDatabaseAccess
     public Optional<CartIndex> getCartByUserId(Long userId) {
         log.info("Kullanıcı sepeti Elasticsearch'ten getiriliyor: {}", userId);
         return cartSearchService.getByUserId(userId);
     }
 
     @PreAuthorize("hasRole('ADMIN')")
+    @NoDatabaseAccess
     public Page<CartIndex> getAllCarts(Pageable pageable) {
         log.info("Tüm sepetler Elasticsearch'ten getiriliyor...");
         return cartSearchService.getAll(pageable);
     }
 
     @PreAuthorize("hasRole('ADMIN')")
+    @NoDatabaseAccess
     public Page<CartIndex> searchCartsByUserName(String userName, Pageable pageable) {
         log.info("Sepetler kullanıcı adına göre aranıyor: '{}'", userName);
         return cartSearchService.searchByUserName(userName, pageable);
     }
 
     @PreAuthorize("hasRole('ADMIN')")
+    @NoDatabaseAccess
     public Page<CartIndex> findCartsWithProduct(Long productId, Pageable pageable) {
         log.info("Ürün içeren sepetler bulunuyor: {}", productId);
         return cartSearchService.findCartsWithProduct(productId, pageable);
     }
 
     @PreAuthorize("hasRole('ADMIN')")
+    @NoDatabaseAccess
     public Page<CartIndex> findCartsByPriceRange(double minPrice, double maxPrice, Pageable pageable) {
         log.info("Fiyat aralığındaki sepetler bulunuyor: {}-{}", minPrice, maxPrice);
         return cartSearchService.findCartsByPriceRange(minPrice, maxPrice, pageable);
     }
 
+    @PreAuthorize("hasRole('ADMIN')")
+    @NoDatabaseAccess
+    public CursorResponse<CartIndex> getAllCarts(String cursor, int size) {
+        log.info("Tüm sepetler Elasticsearch'ten imleç ile getiriliyor...");
+        return cartSearchService.getAll(cursor, size);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @NoDatabaseAccess
+    public CursorResponse<CartIndex> searchCartsByUserName(String userName, String cursor, int size) {
+        log.info("Sepetler kullanıcı adına göre imleç ile aranıyor: '{}'", userName);
+        return cartSearchService.searchByUserName(userName, cursor, size);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @NoDatabaseAccess
+    public CursorResponse<CartIndex> findCartsWithProduct(Long productId, String cursor, int size) {
+        log.info("Ürün içeren sepetler imleç ile bulunuyor: {}", productId);
+        return cartSearchService.findCartsWithProduct(productId, cursor, size);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @NoDatabaseAccess
+    public CursorResponse<CartIndex> findCartsByPriceRange(double minPrice, double maxPrice, String cursor, int size) {
+        log.info("Fiyat aralığındaki sepetler imleç ile bulunuyor: {}-{}", minPrice, maxPrice);
+        return cartSearchService.findCartsByPriceRange(minPrice, maxPrice, cursor, size);
+    }
+
     // CUD işlemleri
 
     public void addToCart(User user, AddToCartRequest request) {
@@ -99,20 +155,53 @@ public class CartService {
         }
     }
 
+    // Sınıf seviyesindeki transaction kullanılmaz: _mget süresince havuzdan bağlantı tutulmasın diye veritabanı
+    // okumaları kısa salt okunur transaction'larda, Elasticsearch çağrısı ise bunların dışında yapılır
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public CartResponse getCart(User user) {
         log.info("Kullanıcı sepeti getiriliyor: {}", user.getUsername());
 
-        Cart cart = cartRepository.findByUser(user).orElseThrow(() -> new RuntimeException("Sepet Bulunamadı."));
-
-        List<CartItemResponse> items = cartItemRepository.findByCart(cart).stream()
-                .map(ci -> new CartItemResponse(ci.getProduct().getId(), ci.getProduct().getName(), ci.getQuantity(),
-                        ci.getProduct().getPrice() * ci.getQuantity()))
-                .collect(Collectors.toList());
+        List<CartLineQuantity> lines = readOnlyTransaction.execute(status -> {
+            Cart cart = cartRepository.findByUser(user)
+                    .orElseThrow(() -> new RuntimeException("Sepet Bulunamadı."));
+            return cartItemRepository.findQuantitiesByCart(cart);
+        });
+
+        // Ürün ad/fiyatları tek _mget ile indeksten okunur; indekste olmayanlar veritabanından tamamlanır
+        List<Long> productIds = lines.stream().map(CartLineQuantity::productId).toList();
+        Map<Long, ProductIndex> indexed = findIndexedProducts(productIds);
+        List<Long> missing = productIds.stream().filter(id -> !indexed.containsKey(id)).toList();
+        Map<Long, Product> fromDatabase = missing.isEmpty() ? Map.of()
+                : readOnlyTransaction.execute(status -> productRepository.findAllById(missing).stream()
+                        .collect(Collectors.toMap(Product::getId, Function.identity())));
+
+        List<CartItemResponse> items = new ArrayList<>(lines.size());
+        for (CartLineQuantity line : lines) {
+            ProductIndex product = indexed.get(line.productId());
+            if (product != null) {
+                items.add(new CartItemResponse(line.productId(), product.getName(), line.quantity(),
+                        product.getPrice() * line.quantity()));
+            } else if (fromDatabase.containsKey(line.productId())) {
+                Product p = fromDatabase.get(line.productId());
+                items.add(new CartItemResponse(line.productId(), p.getName(), line.quantity(),
+                        p.getPrice() * line.quantity()));
+            }
+        }
         double totalPrice = items.stream().mapToDouble(CartItemResponse::getPrice).sum();
 
         return new CartResponse(items, totalPrice);
     }
 
+    private Map<Long, ProductIndex> findIndexedProducts(List<Long> productIds) {
+        try {
+            return productSearchService.getByIds(productIds).stream()
+                    .collect(Collectors.toMap(p -> Long.valueOf(p.getId()), Function.identity()));
+        } catch (RuntimeException e) {
+            log.warn("Sepet ürünleri Elasticsearch'ten okunamadı, veritabanından okunuyor: {}", e.getMessage());
+            return Map.of();
+        }
+    }
+
     public void removeFromCart(User user, Long productId) {
         log.info("Sepetten ürün siliniyor kullanıcı: {}, ürün: {}", user.getUsername(), productId);
 
@@ -1,15 +1,20 @@
 package com.burock.jwt_2.service;
 
+import java.util.Objects;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.burock.jwt_2.config.NoDatabaseAccess;
+import com.burock.jwt_2.dto.CursorResponse;
 import com.burock.jwt_2.model.Category;
 import com.burock.jwt_2.repository.CategoryRepository;
 import com.burock.jwt_2.search.model.CategoryIndex;
 import com.burock.jwt_2.search.service.CategorySearchService;
+import com.burock.jwt_2.search.service.DenormalizedFieldFanout;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -22,23 +27,39 @@ public class CategoryService {
 
     private final CategoryRepository repo;
     private final CategorySearchService categorySearchService;
+    private final DenormalizedFieldFanout denormalizedFieldFanout;
 
     // GET işlemleri ElasticSearch ile
 
+    @NoDatabaseAccess
     public Page<CategoryIndex> getAll(Pageable pageable) {
         log.info("Tüm kategoriler Elasticsearch'ten getiriliyor...");
         return categorySearchService.getAll(pageable);
     }
 
+    @NoDatabaseAccess
     public CategoryIndex getById(Long id) {
         return categorySearchService.getById(id);
     }
 
+    @NoDatabaseAccess
     public Page<CategoryIndex> searchCategories(String name, Pageable pageable) {
         log.info("Kategoriler Elasticsearch ile aranıyor isim: '{}'", name);
         return categorySearchService.searchByName(name, pageable);
     }
 
+    @NoDatabaseAccess
+    public CursorResponse<CategoryIndex> getAll(String cursor, int size) {
+        log.info("Tüm kategoriler Elasticsearch'ten imleç ile getiriliyor...");
+        return categorySearchService.getAll(cursor, size);
+    }
+
+    @NoDatabaseAccess
+    public CursorResponse<CategoryIndex> searchCategories(String name, String cursor, int size) {
+        return categorySearchService.searchByName(name, cursor, size);
+    }
+
+    @NoDatabaseAccess
     public CategoryIndex findByName(String name) {
         log.info("Kategori Elasticsearch ile tam isimle bulunuyor: '{}'", name);
         return categorySearchService.findByName(name);
@@ -66,10 +87,14 @@ public class CategoryService {
     public Category update(Long id, Category c) {
         log.info("Kategori güncelleniyor id: {}", id);
         Category ec = repo.findById(id).orElseThrow(() -> new RuntimeException("Kategori bulunamadı: " + id));
+        boolean renamed = !Objects.equals(ec.getName(), c.getName());
         ec.setName(c.getName());
 
         Category updated = repo.save(ec);
         log.info("Kategori veritabanında başarıyla güncellendi");
+        if (renamed) {
+            denormalizedFieldFanout.categoryRenamed(updated);
+        }
 
         try {
             categorySearchService.indexCategory(updated);
@@ -0,0 +1,228 @@
+package com.burock.jwt_2.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHitsIterator;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.burock.jwt_2.dto.ExportFormat;
+import com.burock.jwt_2.dto.OrderExportRow;
+import com.burock.jwt_2.dto.OrderItemResponse;
+import com.burock.jwt_2.dto.OrderResponse;
+import com.burock.jwt_2.repository.OrderRepository;
+import com.burock.jwt_2.search.model.CartIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+public class ExportService {
+
+    private static final int CART_SCROLL_BATCH_SIZE = 500;
+
+    private static final String ORDER_CSV_HEADER = "orderId,orderNumber,username,status,totalAmount,orderDate,deliveryDate,"
+            + "shippingAddress,notes,itemId,productId,productName,quantity,unitPrice,totalPrice";
+
+    private static final String CART_CSV_HEADER = "cartId,userId,userName,totalItems,totalPrice,productId,productName,"
+            + "productPrice,quantity,subtotal,categoryId,categoryName";
+
+    private final OrderRepository orderRepository;
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final MessageService messageService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ExportService(OrderRepository orderRepository, ElasticsearchOperations elasticsearchOperations,
+            MessageService messageService, ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        this.orderRepository = orderRepository;
+        this.elasticsearchOperations = elasticsearchOperations;
+        this.messageService = messageService;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    // Yanıt gövdesi asenkron thread'de yazılır; dil ve transaction bu thread'de yeniden kurulur
+
+    public StreamingResponseBody exportOrders(LocalDateTime startDate, LocalDateTime endDate, ExportFormat format,
+            boolean gzip) {
+        Locale locale = LocaleContextHolder.getLocale();
+        return out -> write(out, gzip, locale, writer -> readOnlyTransaction.executeWithoutResult(status -> {
+            log.info("Siparişler dışa aktarılıyor: {} - {} ({})", startDate, endDate, format);
+            try (Stream<OrderExportRow> rows = orderRepository.streamExportRowsBetween(startDate, endDate)) {
+                long count = format == ExportFormat.CSV ? writeOrdersCsv(rows, writer) : writeOrdersNdjson(rows, writer);
+                log.info("Sipariş dışa aktarımı tamamlandı. Satır sayısı: {}", count);
+            }
+        }));
+    }
+
+    public StreamingResponseBody exportCarts(ExportFormat format, boolean gzip) {
+        Locale locale = LocaleContextHolder.getLocale();
+        return out -> write(out, gzip, locale, writer -> {
+            log.info("Sepetler Elasticsearch'ten dışa aktarılıyor ({})", format);
+            NativeQuery query = NativeQuery.builder()
+                    .withQuery(q -> q.matchAll(m -> m))
+                    .withPageable(PageRequest.of(0, CART_SCROLL_BATCH_SIZE))
+                    .build();
+
+            long count = 0;
+            try (SearchHitsIterator<CartIndex> carts = elasticsearchOperations.searchForStream(query, CartIndex.class)) {
+                if (format == ExportFormat.CSV) {
+                    writeLine(writer, CART_CSV_HEADER);
+                }
+                while (carts.hasNext()) {
+                    CartIndex cart = carts.next().getContent();
+                    if (format == ExportFormat.CSV) {
+                        writeCartCsv(cart, writer);
+                    } else {
+                        writeLine(writer, toJson(cart));
+                    }
+                    count++;
+                }
+            }
+            log.info("Sepet dışa aktarımı tamamlandı. Sepet sayısı: {}", count);
+        });
+    }
+
+    private void write(OutputStream out, boolean gzip, Locale locale, ExportWriter body) throws IOException {
+        LocaleContextHolder.setLocale(locale);
+        OutputStream target = gzip ? new GZIPOutputStream(out) : out;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8));
+        try {
+            body.write(writer);
+            writer.flush();
+            if (target instanceof GZIPOutputStream gzipStream) {
+                gzipStream.finish();
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            LocaleContextHolder.resetLocaleContext();
+        }
+    }
+
+    // Satırlar sipariş id'sine göre sıralı gelir; bellekte her an yalnızca bir sipariş tutulur
+    private long writeOrdersNdjson(Stream<OrderExportRow> rows, Writer writer) {
+        long count = 0;
+        OrderResponse current = null;
+        Iterator<OrderExportRow> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            OrderExportRow row = iterator.next();
+            if (current == null || !current.getId().equals(row.orderId())) {
+                if (current != null) {
+                    writeLine(writer, toJson(current));
+                    count++;
+                }
+                current = OrderResponse.builder().id(row.orderId()).orderNumber(row.orderNumber())
+                        .orderItems(new ArrayList<>()).totalAmount(row.totalAmount()).status(row.status())
+                        .statusText(messageService.getStatusText(row.status()))
+                        .orderDate(row.orderDate()).deliveryDate(row.deliveryDate())
+                        .shippingAddress(row.shippingAddress()).notes(row.notes()).build();
+            }
+            if (row.itemId() != null) {
+                current.getOrderItems().add(OrderItemResponse.builder().id(row.itemId()).productId(row.productId())
+                        .productName(row.productName()).quantity(row.quantity()).unitPrice(row.unitPrice())
+                        .totalPrice(row.totalPrice()).build());
+            }
+        }
+        if (current != null) {
+            writeLine(writer, toJson(current));
+            count++;
+        }
+        return count;
+    }
+
+    private long writeOrdersCsv(Stream<OrderExportRow> rows, Writer writer) {
+        writeLine(writer, ORDER_CSV_HEADER);
+        long count = 0;
+        Iterator<OrderExportRow> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            OrderExportRow row = iterator.next();
+            writeLine(writer, csvLine(row.orderId(), row.orderNumber(), row.username(), row.status(),
+                    row.totalAmount(), row.orderDate(), row.deliveryDate(), row.shippingAddress(), row.notes(),
+                    row.itemId(), row.productId(), row.productName(), row.quantity(), row.unitPrice(),
+                    row.totalPrice()));
+            count++;
+        }
+        return count;
+    }
+
+    private void writeCartCsv(CartIndex cart, Writer writer) {
+        List<CartIndex.CartItemIndex> items = cart.getItems() != null ? cart.getItems() : List.of();
+        if (items.isEmpty()) {
+            writeLine(writer, csvLine(cart.getId(), cart.getUserId(), cart.getUserName(), cart.getTotalItems(),
+                    cart.getTotalPrice(), null, null, null, null, null, null, null));
+            return;
+        }
+        for (CartIndex.CartItemIndex item : items) {
+            writeLine(writer, csvLine(cart.getId(), cart.getUserId(), cart.getUserName(), cart.getTotalItems(),
+                    cart.getTotalPrice(), item.getProductId(), item.getProductName(), item.getProductPrice(),
+                    item.getQuantity(), item.getSubtotal(), item.getCategoryId(), item.getCategoryName()));
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeLine(Writer writer, String line) {
+        try {
+            writer.write(line);
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String csvLine(Object... values) {
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            line.append(csvValue(values[i]));
+        }
+        return line.toString();
+    }
+
+    private String csvValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+
+    @FunctionalInterface
+    private interface ExportWriter {
+        void write(Writer writer) throws IOException;
+    }
+}
@@ -1,16 +1,30 @@
 package com.burock.jwt_2.service;
 
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
 import org.springframework.context.MessageSource;
 import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import com.burock.jwt_2.config.MessageConfig;
+import com.burock.jwt_2.model.OrderStatus;
+
 @Service
 public class MessageService {
 
     private final MessageSource messageSource;
 
+    // Dil -> durum metni tablosu; her siparişte MessageSource'a gitmemek için önceden hesaplanır
+    private volatile Map<Locale, Map<OrderStatus, String>> statusTexts;
+
     public MessageService(MessageSource messageSource) {
         this.messageSource = messageSource;
+        this.statusTexts = buildStatusTexts();
     }
 
     public String getMessage(String key) {
@@ -20,4 +34,35 @@ public class MessageService {
     public String getMessage(String key, Object... args) {
         return messageSource.getMessage(key, args, LocaleContextHolder.getLocale());
     }
+
+    public String getStatusText(OrderStatus status) {
+        return getStatusText(status, LocaleContextHolder.getLocale());
+    }
+
+    public String getStatusText(OrderStatus status, Locale locale) {
+        return statusTexts.computeIfAbsent(locale, this::buildStatusTexts).get(status);
+    }
+
+    // Mesaj dosyaları cacheSeconds aralığıyla yeniden okunduğu için tablolar da aynı aralıkla yenilenir
+    @Scheduled(fixedRate = MessageConfig.MESSAGE_CACHE_SECONDS, initialDelay = MessageConfig.MESSAGE_CACHE_SECONDS, timeUnit = TimeUnit.SECONDS)
+    public void refreshStatusTexts() {
+        statusTexts = buildStatusTexts();
+    }
+
+    private Map<Locale, Map<OrderStatus, String>> buildStatusTexts() {
+        Map<Locale, Map<OrderStatus, String>> texts = new ConcurrentHashMap<>();
+        for (Locale locale : MessageConfig.SUPPORTED_LOCALES) {
+            texts.put(locale, buildStatusTexts(locale));
+        }
+        texts.put(MessageConfig.DEFAULT_LOCALE, buildStatusTexts(MessageConfig.DEFAULT_LOCALE));
+        return texts;
+    }
+
+    private Map<OrderStatus, String> buildStatusTexts(Locale locale) {
+        Map<OrderStatus, String> texts = new EnumMap<>(OrderStatus.class);
+        for (OrderStatus status : OrderStatus.values()) {
+            texts.put(status, messageSource.getMessage("order.status." + status.name(), null, locale));
+        }
+        return texts;
+    }
 }
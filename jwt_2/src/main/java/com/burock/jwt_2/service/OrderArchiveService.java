@@ -0,0 +1,104 @@
+package com.burock.jwt_2.service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+// orders ve order_item tabloları order_date üzerinden aylık bölümlenir (db/migration/V2__partition_orders.sql).
+// Bu servis gelecek ayların partition'larını önceden açar ve saklama süresini aşan ayların partition'larını
+// archive şemasına (isteğe bağlı olarak ayrı bir tablespace'e) taşır. Taşınan partition'lar tabloya bağlı kalır:
+// sipariş detayı, listeler, sipariş numarası sorgusu ve dışa aktarım arşivlenmiş siparişleri de okur, tarih
+// filtresi olan sorgular ise partition pruning ile yalnızca ilgili aylara bakar.
+@Service
+@Slf4j
+public class OrderArchiveService {
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private static final String HOT_PARTITIONS = """
+            SELECT tablename FROM pg_tables
+            WHERE schemaname = 'public' AND tablename ~ '^(orders|order_item)_[0-9]{4}_[0-9]{2}$'
+            ORDER BY tablename
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int retentionMonths;
+    private final int monthsAhead;
+    private final String tablespace;
+
+    public OrderArchiveService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            @Value("${orders.archive.enabled:true}") boolean enabled,
+            @Value("${orders.archive.retention-months:24}") int retentionMonths,
+            @Value("${orders.partitions.months-ahead:3}") int monthsAhead,
+            @Value("${orders.archive.tablespace:}") String tablespace) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.retentionMonths = retentionMonths;
+        this.monthsAhead = monthsAhead;
+        this.tablespace = tablespace;
+    }
+
+    // Varsayılan partition yoktur; karşılığı olmayan bir order_date ile INSERT başarısız olur. Bu yüzden
+    // uygulama açılırken ve her gün önümüzdeki aylar için partition'lar hazır tutulur.
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Scheduled(cron = "${orders.partitions.cron:0 0 3 * * *}")
+    public void ensurePartitions() {
+        LocalDate from = LocalDate.now().withDayOfMonth(1);
+        Integer created = jdbcTemplate.queryForObject("SELECT create_order_partitions(?, ?)", Integer.class, from,
+                from.plusMonths(monthsAhead));
+        if (created != null && created > 0) {
+            log.info("{} aylık sipariş partition'ı oluşturuldu", created);
+        }
+    }
+
+    @Scheduled(cron = "${orders.archive.cron:0 0 4 1 * *}")
+    public void archiveOldOrders() {
+        if (!enabled) {
+            return;
+        }
+        String cutoff = YearMonth.now().minusMonths(retentionMonths).format(PARTITION_SUFFIX);
+        List<String> partitions = jdbcTemplate.queryForList(HOT_PARTITIONS, String.class);
+
+        // Her partition ayrı transaction'da taşınır; SET SCHEMA yalnızca katalogu değiştirir, SET TABLESPACE ise
+        // veriyi kopyalar ve taşıma boyunca partition'ı kilitler
+        for (String partition : partitions) {
+            if (partition.substring(partition.length() - 7).compareTo(cutoff) >= 0) {
+                continue;
+            }
+            transactionTemplate.executeWithoutResult(status -> archivePartition(partition));
+            log.info("{} partition'ı arşive taşındı", partition);
+        }
+    }
+
+    private void archivePartition(String partition) {
+        jdbcTemplate.execute("ALTER TABLE public." + partition + " SET SCHEMA archive");
+        if (tablespace.isBlank()) {
+            return;
+        }
+        jdbcTemplate.execute("ALTER TABLE archive." + partition + " SET TABLESPACE " + tablespace);
+        // Tablonun tablespace'i indekslerini taşımaz
+        for (String index : jdbcTemplate.queryForList(
+                "SELECT indexname FROM pg_indexes WHERE schemaname = 'archive' AND tablename = ?", String.class,
+                partition)) {
+            jdbcTemplate.execute("ALTER INDEX archive." + index + " SET TABLESPACE " + tablespace);
+        }
+    }
+}
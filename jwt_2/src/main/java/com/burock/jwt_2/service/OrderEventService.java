@@ -0,0 +1,157 @@
+package com.burock.jwt_2.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+import com.burock.jwt_2.dto.OrderStatusChangedEvent;
+import com.burock.jwt_2.dto.OrderStatusNotification;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+// Kullanıcı başına SSE abonelik kaydı. Gönderimler sanal thread'lerde yapılır; her abonenin sınırlı bir
+// kuyruğu vardır, kuyruğu dolan yavaş istemcinin bağlantısı kapatılır (istemci yeniden bağlanıp listeyi çeker).
+// Abonelik kaydı bellekte ve örnek (node) başınadır; olay yalnızca siparişi değiştiren örneğe bağlı
+// abonelere gider. Birden fazla örnek çalışıyorsa /orders/my-orders/stream için yük dengeleyicide kullanıcıya göre
+// yapışkan oturum yeterli değildir (durum değişikliği başka örnekte olabilir); bu kurulum tek örnek içindir.
+@Service
+@Slf4j
+public class OrderEventService {
+
+    private final MessageService messageService;
+    private final Duration emitterTimeout;
+    private final int maxPendingEvents;
+    private final int maxSubscriptionsPerUser;
+
+    private final Map<String, List<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    public OrderEventService(MessageService messageService,
+            @Value("${orders.events.emitter-timeout:PT30M}") Duration emitterTimeout,
+            @Value("${orders.events.max-pending-events:32}") int maxPendingEvents,
+            @Value("${orders.events.max-subscriptions-per-user:5}") int maxSubscriptionsPerUser) {
+        this.messageService = messageService;
+        this.emitterTimeout = emitterTimeout;
+        this.maxPendingEvents = maxPendingEvents;
+        this.maxSubscriptionsPerUser = maxSubscriptionsPerUser;
+    }
+
+    public SseEmitter subscribe(String username) {
+        Subscriber subscriber = new Subscriber(username, LocaleContextHolder.getLocale(),
+                new SseEmitter(emitterTimeout.toMillis()));
+        subscriber.emitter.onCompletion(() -> remove(subscriber));
+        subscriber.emitter.onTimeout(() -> remove(subscriber));
+        subscriber.emitter.onError(e -> remove(subscriber));
+
+        List<Subscriber> userSubscribers = subscribers.computeIfAbsent(username, u -> new CopyOnWriteArrayList<>());
+        userSubscribers.add(subscriber);
+        // Aynı kullanıcının fazla bağlantısı varsa en eskisi kapatılır
+        while (userSubscribers.size() > maxSubscriptionsPerUser) {
+            Subscriber oldest = userSubscribers.remove(0);
+            oldest.emitter.complete();
+        }
+
+        subscriber.enqueue(SseEmitter.event().comment("connected"));
+        log.info("Sipariş olaylarına abone olundu: {}", username);
+        return subscriber.emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        List<Subscriber> userSubscribers = subscribers.get(event.username());
+        if (userSubscribers == null) {
+            return;
+        }
+        for (Subscriber subscriber : userSubscribers) {
+            OrderStatusNotification notification = new OrderStatusNotification(event.orderId(),
+                    event.orderNumber(), event.status(), messageService.getStatusText(event.status(), subscriber.locale),
+                    event.occurredAt());
+            subscriber.enqueue(SseEmitter.event().name("order-status").id(event.orderId() + "-" + event.status())
+                    .data(notification));
+        }
+    }
+
+    // Ara sunucuların boşta bağlantıları kapatmaması ve kopan istemcilerin fark edilmesi için
+    @Scheduled(fixedRateString = "${orders.events.heartbeat-interval:PT15S}")
+    public void sendHeartbeats() {
+        subscribers.values().forEach(userSubscribers -> userSubscribers
+                .forEach(subscriber -> subscriber.enqueue(SseEmitter.event().comment("ping"))));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.values().forEach(userSubscribers -> userSubscribers
+                .forEach(subscriber -> subscriber.emitter.complete()));
+        senders.shutdownNow();
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.username, (username, userSubscribers) -> {
+            userSubscribers.remove(subscriber);
+            return userSubscribers.isEmpty() ? null : userSubscribers;
+        });
+    }
+
+    private final class Subscriber {
+
+        private final String username;
+        private final Locale locale;
+        private final SseEmitter emitter;
+        private final Queue<SseEventBuilder> pending = new ArrayBlockingQueue<>(maxPendingEvents);
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscriber(String username, Locale locale, SseEmitter emitter) {
+            this.username = username;
+            this.locale = locale;
+            this.emitter = emitter;
+        }
+
+        private void enqueue(SseEventBuilder event) {
+            if (!pending.offer(event)) {
+                log.warn("Sipariş olay kuyruğu doldu, bağlantı kapatılıyor: {}", username);
+                remove(this);
+                emitter.complete();
+                return;
+            }
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        // Bir abone için aynı anda tek gönderici çalışır, olay sırası korunur
+        private void drain() {
+            do {
+                SseEventBuilder event;
+                while ((event = pending.poll()) != null) {
+                    try {
+                        emitter.send(event);
+                    } catch (IOException | IllegalStateException e) {
+                        remove(this);
+                        pending.clear();
+                        break;
+                    }
+                }
+                draining.set(false);
+            } while (!pending.isEmpty() && draining.compareAndSet(false, true));
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.burock.jwt_2.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.burock.jwt_2.repository.OrderRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+// Herkese açık sipariş numarası sorgusunda, kesin olarak verilmemiş numaralar için veritabanına gidilmez.
+// Sipariş numaraları "SIP-<epoch millis>-<ek>" biçimindedir. Filtre, zaman damgası su seviyesinin (watermark)
+// altındaki tüm numaraları içerir; diğer düğümlerde oluşturulan siparişler birkaç saniyede bir yapılan yenilemede
+// eklenir. Su seviyesinden yeni olup filtrede bulunmayan numaralar (son saniyelerde başka düğümde verilmiş olabilir)
+// veritabanına sorulur, ancak uydurulmuş zaman damgalarıyla filtrenin atlatılmaması için bu sorgular saniye başına
+// sınırlıdır; sınır aşıldığında numara bulunamadı kabul edilir.
+@Service
+@Slf4j
+public class OrderNumberFilter {
+
+    private static final String PREFIX = "SIP-";
+
+    private final OrderRepository orderRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final long initialCapacity;
+    private final double falsePositiveRate;
+    private final Duration safetyLag;
+    private final int recentLookupsPerSecond;
+    private final AtomicLong recentLookupSecond = new AtomicLong();
+    private final AtomicInteger recentLookups = new AtomicInteger();
+
+    private volatile ScalableBloomFilter filter;
+    // Bu zamandan önce üretilmiş tüm sipariş numaraları filtrededir; -1 iken filtre hazır değildir
+    private volatile long watermarkMillis = -1;
+
+    public OrderNumberFilter(OrderRepository orderRepository, PlatformTransactionManager transactionManager,
+            @Value("${orders.number-filter.initial-capacity:1000000}") long initialCapacity,
+            @Value("${orders.number-filter.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${orders.number-filter.safety-lag:PT10S}") Duration safetyLag,
+            @Value("${orders.number-filter.recent-lookups-per-second:50}") int recentLookupsPerSecond) {
+        this.orderRepository = orderRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.initialCapacity = initialCapacity;
+        this.falsePositiveRate = falsePositiveRate;
+        this.safetyLag = safetyLag;
+        this.recentLookupsPerSecond = recentLookupsPerSecond;
+    }
+
+    public boolean mightExist(String orderNumber) {
+        long issuedAt = issuedAtMillis(orderNumber);
+        if (issuedAt < 0) {
+            return false;
+        }
+        if (issuedAt > System.currentTimeMillis() + safetyLag.toMillis()) {
+            return false;
+        }
+        ScalableBloomFilter current = filter;
+        if (current == null || current.mightContain(orderNumber)) {
+            return true;
+        }
+        if (issuedAt <= watermarkMillis) {
+            return false;
+        }
+        return tryAcquireRecentLookup();
+    }
+
+    public void add(String orderNumber) {
+        ScalableBloomFilter current = filter;
+        if (current != null) {
+            current.put(orderNumber);
+        }
+    }
+
+    // Açılışı bekletmemek için ilk yükleme arka planda yapılır; bu sürede tüm sorgular veritabanına gider
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        Thread.ofVirtual().name("order-number-filter").start(this::rebuild);
+    }
+
+    // Bloom filtresinden eleman silinemez; silinen siparişlerin numaraları bu tam yeniden oluşturmada düşer
+    @Scheduled(cron = "${orders.number-filter.rebuild-cron:0 0 5 * * *}")
+    public void rebuild() {
+        try {
+            long scanStart = System.currentTimeMillis();
+            ScalableBloomFilter rebuilt = new ScalableBloomFilter(initialCapacity, falsePositiveRate);
+            long count = readOnlyTransaction.execute(status -> {
+                try (Stream<String> orderNumbers = orderRepository.streamAllOrderNumbers()) {
+                    return orderNumbers.peek(rebuilt::put).count();
+                }
+            });
+            filter = rebuilt;
+            watermarkMillis = scanStart - safetyLag.toMillis();
+            log.info("Sipariş numarası filtresi oluşturuldu. Numara sayısı: {}, boyut: {} KB", count,
+                    rebuilt.bitSize() / 8 / 1024);
+        } catch (RuntimeException e) {
+            log.error("Sipariş numarası filtresi oluşturulamadı: {}", e.getMessage());
+        }
+    }
+
+    // Diğer düğümlerde oluşturulan siparişler yalnızca son siparişler taranarak eklenir
+    @Scheduled(fixedDelayString = "${orders.number-filter.refresh-interval:PT5S}", initialDelayString = "${orders.number-filter.refresh-interval:PT5S}")
+    public void refresh() {
+        ScalableBloomFilter current = filter;
+        long previousWatermark = watermarkMillis;
+        if (current == null || previousWatermark < 0) {
+            return;
+        }
+        try {
+            long scanStart = System.currentTimeMillis();
+            LocalDateTime since = LocalDateTime.ofInstant(
+                    Instant.ofEpochMilli(previousWatermark - safetyLag.toMillis()), ZoneId.systemDefault());
+            long count = readOnlyTransaction.execute(status -> {
+                try (Stream<String> orderNumbers = orderRepository.streamOrderNumbersSince(since)) {
+                    return orderNumbers.peek(current::put).count();
+                }
+            });
+            if (filter == current) {
+                watermarkMillis = scanStart - safetyLag.toMillis();
+            }
+            log.debug("Sipariş numarası filtresi yenilendi. Taranan numara: {}", count);
+        } catch (RuntimeException e) {
+            log.warn("Sipariş numarası filtresi yenilenemedi: {}", e.getMessage());
+        }
+    }
+
+    // Saniyelik sabit pencere; pencere değişimindeki küçük yarış sınırı en fazla bir pencere kadar aşabilir
+    private boolean tryAcquireRecentLookup() {
+        long second = System.currentTimeMillis() / 1000;
+        long window = recentLookupSecond.get();
+        if (window != second && recentLookupSecond.compareAndSet(window, second)) {
+            recentLookups.set(0);
+        }
+        if (recentLookups.incrementAndGet() <= recentLookupsPerSecond) {
+            return true;
+        }
+        log.debug("Yeni sipariş numarası sorgu sınırı aşıldı");
+        return false;
+    }
+
+    // Biçime uymayan numara hiç verilmemiştir
+    private long issuedAtMillis(String orderNumber) {
+        if (orderNumber == null || !orderNumber.startsWith(PREFIX)) {
+            return -1;
+        }
+        int end = orderNumber.indexOf('-', PREFIX.length());
+        if (end < 0) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(orderNumber, PREFIX.length(), end, 10);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.burock.jwt_2.service;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.burock.jwt_2.dto.OrderItemResponse;
+import com.burock.jwt_2.dto.OrderResponse;
+import com.burock.jwt_2.model.Order;
+import com.burock.jwt_2.model.OrderStatus;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+// Teslim edilmiş veya iptal edilmiş siparişler değişmez; yanıtları dil bazında bellekte tutulur.
+// Önbellekten dönen OrderResponse nesneleri paylaşılır, değiştirilmemelidir. Durum değişikliğinden önce başlamış
+// bir okuma, commit sonrası silmeden sonra eski yanıtı yazmaya çalışabilir; bunu engellemek için son commit
+// edilen durum tutulur ve farklı durumdaki yanıtlar kabul edilmez. Kalan durumlar için (ör. aynı durumda
+// güncellenen alanlar) kayıtlar expire-after-write süresi sonunda düşer.
+@Service
+public class OrderResponseCache {
+
+    private static final Set<OrderStatus> TERMINAL_STATUSES = EnumSet.of(OrderStatus.DELIVERED,
+            OrderStatus.CANCELLED);
+
+    private static final int MAX_ORDER_NUMBERS = 100_000;
+
+    private final Cache<Long, CachedOrder> responsesById;
+    private final Cache<String, Long> idsByOrderNumber;
+    // Son commit edilen durum; süresi içinde başlamış okumaların eski yanıtı önbelleğe yazmasını engeller
+    private final Cache<Long, OrderStatus> committedStatuses;
+
+    public OrderResponseCache(@Value("${orders.response-cache.max-weight:33554432}") long maxWeight,
+            @Value("${orders.response-cache.expire-after-write:PT10M}") Duration expireAfterWrite) {
+        this.responsesById = Caffeine.newBuilder()
+                .maximumWeight(maxWeight)
+                .weigher((Long id, CachedOrder cached) -> cached.weight())
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+        this.idsByOrderNumber = Caffeine.newBuilder()
+                .maximumSize(MAX_ORDER_NUMBERS)
+                .build();
+        this.committedStatuses = Caffeine.newBuilder()
+                .maximumSize(MAX_ORDER_NUMBERS)
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+    }
+
+    public record Entry(String ownerUsername, OrderResponse response) {
+    }
+
+    private record CachedOrder(String ownerUsername, Map<Locale, OrderResponse> responses, int weight) {
+    }
+
+    public static boolean isTerminal(OrderStatus status) {
+        return TERMINAL_STATUSES.contains(status);
+    }
+
+    public Optional<Entry> findById(Long orderId) {
+        CachedOrder cached = responsesById.getIfPresent(orderId);
+        if (cached == null) {
+            return Optional.empty();
+        }
+        OrderResponse response = cached.responses().get(LocaleContextHolder.getLocale());
+        return response == null ? Optional.empty() : Optional.of(new Entry(cached.ownerUsername(), response));
+    }
+
+    public Optional<Entry> findByOrderNumber(String orderNumber) {
+        Long orderId = idsByOrderNumber.getIfPresent(orderNumber);
+        return orderId == null ? Optional.empty() : findById(orderId);
+    }
+
+    // Sipariş transaction içinde yüklenmiş olmalıdır (sahip kullanıcı adı okunur)
+    public void put(Order order, OrderResponse response) {
+        if (!isTerminal(order.getStatus())) {
+            return;
+        }
+        OrderStatus committedStatus = committedStatuses.getIfPresent(order.getId());
+        if (committedStatus != null && committedStatus != order.getStatus()) {
+            return;
+        }
+        Locale locale = LocaleContextHolder.getLocale();
+        String ownerUsername = order.getUser().getUsername();
+        responsesById.asMap().compute(order.getId(), (id, cached) -> {
+            Map<Locale, OrderResponse> responses = cached == null ? new HashMap<>() : new HashMap<>(cached.responses());
+            responses.put(locale, response);
+            int weight = responses.values().stream().mapToInt(OrderResponseCache::estimateWeight).sum();
+            return new CachedOrder(ownerUsername, Map.copyOf(responses), weight);
+        });
+        idsByOrderNumber.put(order.getOrderNumber(), order.getId());
+    }
+
+    // Commit'ten önce okunan eski durum tekrar önbelleğe girmesin diye commit sonrasında da silinir ve
+    // yeni durum kaydedilir
+    public void evict(Order order) {
+        Long orderId = order.getId();
+        OrderStatus status = order.getStatus();
+        responsesById.invalidate(orderId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    committedStatuses.put(orderId, status);
+                    responsesById.invalidate(orderId);
+                }
+            });
+        } else {
+            committedStatuses.put(orderId, status);
+        }
+    }
+
+    // Yaklaşık bellek kullanımı (bayt)
+    private static int estimateWeight(OrderResponse response) {
+        int weight = 256 + length(response.getOrderNumber()) + length(response.getStatusText())
+                + length(response.getShippingAddress()) + length(response.getNotes());
+        if (response.getOrderItems() != null) {
+            for (OrderItemResponse item : response.getOrderItems()) {
+                weight += 160 + length(item.getProductName());
+            }
+        }
+        return weight;
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : 2 * value.length();
+    }
+}
@@ -2,21 +2,34 @@ package com.burock.jwt_2.service;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.burock.jwt_2.config.NoDatabaseAccess;
 import com.burock.jwt_2.dto.CreateOrderRequest;
+import com.burock.jwt_2.dto.CursorResponse;
+import com.burock.jwt_2.dto.OrderCursor;
 import com.burock.jwt_2.dto.OrderItemResponse;
+import com.burock.jwt_2.dto.OrderItemRow;
 import com.burock.jwt_2.dto.OrderResponse;
+import com.burock.jwt_2.dto.OrderStatusChangedEvent;
+import com.burock.jwt_2.dto.OrderSummaryView;
 import com.burock.jwt_2.model.Cart;
 import com.burock.jwt_2.model.Order;
 import com.burock.jwt_2.model.OrderItem;
@@ -27,7 +40,9 @@ import com.burock.jwt_2.repository.CartRepository;
 import com.burock.jwt_2.repository.OrderRepository;
 import com.burock.jwt_2.repository.ProductRepository;
 import com.burock.jwt_2.repository.UserRepository;
+import com.burock.jwt_2.search.model.OrderIndex;
 import com.burock.jwt_2.search.service.OrderSearchService;
+import com.burock.jwt_2.search.service.ProductStockIndexUpdater;
 
 import lombok.RequiredArgsConstructor;
 
@@ -38,17 +53,29 @@ public class OrderService {
 
     private static final Logger log = LoggerFactory.getLogger(OrderService.class);
 
+    // IN listesindeki sipariş sayısı üst sınırı
+    private static final int ITEM_FETCH_CHUNK_SIZE = 1000;
+
+    private static final int MAX_SLICE_SIZE = 100;
+
     private final OrderRepository orderRepository;
     private final CartRepository cartRepository;
     private final ProductRepository productRepository;
     private final UserRepository userRepository;
     private final OrderSearchService orderSearchService;
+    private final ProductStockIndexUpdater productStockIndexUpdater;
     private final MessageService messageService;
+    private final UserOrderStatsService userOrderStatsService;
+    private final OrderResponseCache orderResponseCache;
+    private final SalesRollupService salesRollupService;
+    private final OrderNumberFilter orderNumberFilter;
+    private final ApplicationEventPublisher eventPublisher;
 
     private String generateOrderNumber() {
         return "SIP-" + System.currentTimeMillis() + "-" + UUID.randomUUID().toString().substring(0, 6).toUpperCase();
     }
 
+    // Kalemleri bellekte olan (yeni oluşturulmuş veya entity graph ile yüklenmiş) siparişler için
     private OrderResponse convertToOrderResponse(Order order) {
         List<OrderItemResponse> orderItems = order.getOrderItems().stream()
                 .map(item -> OrderItemResponse.builder().id(item.getId()).productId(item.getProduct().getId())
@@ -56,7 +83,11 @@ public class OrderService {
                         .unitPrice(item.getUnitPrice()).totalPrice(item.getTotalPrice()).build())
                 .collect(Collectors.toList());
 
-        String statusText = messageService.getMessage("order.status." + order.getStatus().name());
+        return convertToOrderResponse(order, orderItems);
+    }
+
+    private OrderResponse convertToOrderResponse(Order order, List<OrderItemResponse> orderItems) {
+        String statusText = messageService.getStatusText(order.getStatus());
 
         return OrderResponse.builder().id(order.getId()).orderNumber(order.getOrderNumber())
                 .orderItems(orderItems).totalAmount(order.getTotalAmount()).status(order.getStatus())
@@ -65,6 +96,114 @@ public class OrderService {
                 .shippingAddress(order.getShippingAddress()).notes(order.getNotes()).build();
     }
 
+    // Arama indeksindeki belge; kalemleri olmayan eski belgelerde orderItems boş döner
+    private OrderResponse convertToOrderResponse(OrderIndex orderIndex) {
+        OrderStatus status = OrderStatus.valueOf(orderIndex.getStatus());
+        List<OrderItemResponse> orderItems = orderIndex.getItems() == null ? List.of()
+                : orderIndex.getItems().stream()
+                        .map(item -> OrderItemResponse.builder().id(Long.valueOf(item.getId()))
+                                .productId(Long.valueOf(item.getProductId())).productName(item.getProductName())
+                                .quantity(item.getQuantity()).unitPrice(item.getUnitPrice())
+                                .totalPrice(item.getTotalPrice()).build())
+                        .collect(Collectors.toList());
+
+        return OrderResponse.builder().id(Long.valueOf(orderIndex.getId()))
+                .orderNumber(orderIndex.getOrderNumber()).orderItems(orderItems)
+                .totalAmount(orderIndex.getTotalAmount()).status(status)
+                .statusText(messageService.getStatusText(status)).orderDate(orderIndex.getOrderDate())
+                .deliveryDate(orderIndex.getDeliveryDate()).shippingAddress(orderIndex.getShippingAddress())
+                .notes(orderIndex.getNotes()).build();
+    }
+
+    // Okuma modeli: indeks erişilemezse veya kalemleri indekslenmemiş eski belge varsa veritabanına dönülür
+    private Optional<List<OrderResponse>> readFromIndex(Supplier<List<OrderIndex>> query) {
+        try {
+            List<OrderIndex> orders = query.get();
+            if (orders.stream().anyMatch(order -> order.getItems() == null)) {
+                log.warn("Sipariş indeksinde kalemsiz belge var, veritabanından okunuyor");
+                return Optional.empty();
+            }
+            return Optional.of(orders.stream().map(this::convertToOrderResponse).collect(Collectors.toList()));
+        } catch (RuntimeException e) {
+            log.warn("Sipariş okuma modeline erişilemedi, veritabanından okunuyor: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private Optional<Page<OrderResponse>> readPageFromIndex(Supplier<Page<OrderIndex>> query) {
+        try {
+            Page<OrderIndex> orders = query.get();
+            if (orders.getContent().stream().anyMatch(order -> order.getItems() == null)) {
+                log.warn("Sipariş indeksinde kalemsiz belge var, veritabanından okunuyor");
+                return Optional.empty();
+            }
+            return Optional.of(orders.map(this::convertToOrderResponse));
+        } catch (RuntimeException e) {
+            log.warn("Sipariş okuma modeline erişilemedi, veritabanından okunuyor: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private void publishStatusChange(Order order, OrderStatus previousStatus) {
+        if (previousStatus != order.getStatus()) {
+            eventPublisher.publishEvent(new OrderStatusChangedEvent(order.getId(), order.getOrderNumber(),
+                    order.getUser().getUsername(), previousStatus, order.getStatus(), LocalDateTime.now()));
+        }
+    }
+
+    private OrderResponse convertAndCache(Order order) {
+        OrderResponse response = convertToOrderResponse(order);
+        orderResponseCache.put(order, response);
+        return response;
+    }
+
+    // Sayfa boyutundan bağımsız olarak: sipariş başlıkları + kalemler için tek sorgu
+    private List<OrderResponse> convertToOrderResponses(List<Order> orders) {
+        Map<Long, List<OrderItemResponse>> itemsByOrder = findItemsByOrders(orders);
+        return orders.stream()
+                .map(order -> convertToOrderResponse(order, itemsByOrder.getOrDefault(order.getId(), List.of())))
+                .collect(Collectors.toList());
+    }
+
+    private Page<OrderResponse> convertToOrderResponses(Page<Order> orders) {
+        return new PageImpl<>(convertToOrderResponses(orders.getContent()), orders.getPageable(),
+                orders.getTotalElements());
+    }
+
+    private CursorResponse<OrderResponse> convertToCursorResponse(Slice<Order> orders) {
+        List<OrderResponse> content = convertToOrderResponses(orders.getContent());
+        String nextCursor = null;
+        if (orders.hasNext() && !content.isEmpty()) {
+            OrderResponse last = content.get(content.size() - 1);
+            nextCursor = new OrderCursor(last.getOrderDate(), last.getId()).encode();
+        }
+        return new CursorResponse<>(content, nextCursor, orders.hasNext());
+    }
+
+    private CursorResponse<OrderResponse> convertToCursorResponse(CursorResponse<OrderIndex> orders) {
+        List<OrderResponse> content = orders.getContent().stream().map(this::convertToOrderResponse)
+                .collect(Collectors.toList());
+        return new CursorResponse<>(content, orders.getNextCursor(), orders.isHasNext());
+    }
+
+    private Pageable sliceOf(int size) {
+        return PageRequest.of(0, Math.max(1, Math.min(size, MAX_SLICE_SIZE)));
+    }
+
+    private Map<Long, List<OrderItemResponse>> findItemsByOrders(List<Order> orders) {
+        List<Long> orderIds = orders.stream().map(Order::getId).collect(Collectors.toList());
+        List<OrderItemRow> rows = new ArrayList<>();
+        for (int from = 0; from < orderIds.size(); from += ITEM_FETCH_CHUNK_SIZE) {
+            List<Long> chunk = orderIds.subList(from, Math.min(from + ITEM_FETCH_CHUNK_SIZE, orderIds.size()));
+            rows.addAll(orderRepository.findItemRowsByOrderIds(chunk));
+        }
+
+        return rows.stream().collect(Collectors.groupingBy(OrderItemRow::orderId,
+                Collectors.mapping(row -> OrderItemResponse.builder().id(row.id()).productId(row.productId())
+                        .productName(row.productName()).quantity(row.quantity()).unitPrice(row.unitPrice())
+                        .totalPrice(row.totalPrice()).build(), Collectors.toList())));
+    }
+
     public OrderResponse createOrder(CreateOrderRequest request, String username) {
         log.info("{} Kullanıcısı için sipariş oluşturuluyor", username);
 
@@ -105,6 +244,10 @@ public class OrderService {
         order.setTotalAmount(totalAmount);
 
         Order savedOrder = orderRepository.save(order);
+        productStockIndexUpdater.markChanged(orderItems.stream().map(OrderItem::getProduct).toList());
+        userOrderStatsService.recordOrderCreated(savedOrder);
+        salesRollupService.recordOrderCreated(savedOrder);
+        orderNumberFilter.add(savedOrder.getOrderNumber());
         log.info("Sipariş başarıyla oluşturuldu: {}", savedOrder.getOrderNumber());
 
         orderSearchService.indexOrder(savedOrder);
@@ -115,35 +258,54 @@ public class OrderService {
         return convertToOrderResponse(savedOrder);
     }
 
+    @Transactional(readOnly = true)
     public List<OrderResponse> getUserOrders(String username) {
         log.info("Kullanıcı siparişleri getiriliyor: {}", username);
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("Kullanıcı bulunamadı"));
 
+        if (orderSearchService.isReadModelEnabled()) {
+            Optional<List<OrderResponse>> fromIndex = readFromIndex(
+                    () -> orderSearchService.findAllUserOrders(user.getId()));
+            if (fromIndex.isPresent()) {
+                return fromIndex.get();
+            }
+        }
+
         List<Order> orders = orderRepository.findByUserOrderByOrderDateDesc(user);
-        return orders.stream().map(this::convertToOrderResponse).collect(Collectors.toList());
+        return convertToOrderResponses(orders);
     }
 
+    @Transactional(readOnly = true)
     public OrderResponse getOrderById(Long orderId, String username) {
         log.info("Sipariş ID'ye göre getiriliyor: {} için kullanıcı: {}", orderId, username);
+        Optional<OrderResponseCache.Entry> cached = orderResponseCache.findById(orderId);
+        if (cached.isPresent()) {
+            if (!cached.get().ownerUsername().equals(username)) {
+                throw new RuntimeException("Erişim reddedildi");
+            }
+            return cached.get().response();
+        }
+
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("Kullanıcı bulunamadı"));
 
-        Order order = orderRepository.findById(orderId)
+        Order order = orderRepository.findWithItemsById(orderId)
                 .orElseThrow(() -> new RuntimeException("Sipariş bulunamadı"));
 
         if (!order.getUser().getId().equals(user.getId())) {
             throw new RuntimeException("Erişim reddedildi");
         }
 
-        return convertToOrderResponse(order);
+        return convertAndCache(order);
     }
 
     public OrderResponse updateOrderStatus(Long orderId, OrderStatus status) {
         log.info("Sipariş durumu güncelleniyor: {} yeni durum: {}", orderId, status);
-        Order order = orderRepository.findById(orderId)
+        Order order = orderRepository.findWithItemsById(orderId)
                 .orElseThrow(() -> new RuntimeException("Sipariş bulunamadı"));
 
+        OrderStatus previousStatus = order.getStatus();
         order.setStatus(status);
 
         if (status == OrderStatus.DELIVERED) {
@@ -151,6 +313,10 @@ public class OrderService {
         }
 
         Order savedOrder = orderRepository.save(order);
+        userOrderStatsService.recordStatusChange(savedOrder, previousStatus);
+        salesRollupService.recordStatusChange(savedOrder, previousStatus);
+        orderResponseCache.evict(savedOrder);
+        publishStatusChange(savedOrder, previousStatus);
 
         orderSearchService.indexOrder(savedOrder);
 
@@ -158,53 +324,124 @@ public class OrderService {
         return convertToOrderResponse(savedOrder);
     }
 
+    @Transactional(readOnly = true)
     public Page<OrderResponse> getAllOrders(Pageable pageable) {
         log.info("Tüm siparişler getiriliyor...");
         Page<Order> orders = orderRepository.findAll(pageable);
-        return orders.map(this::convertToOrderResponse);
+        return convertToOrderResponses(orders);
     }
 
+    @Transactional(readOnly = true)
     public Optional<OrderResponse> getOrderByOrderNumber(String orderNumber) {
         log.info("Sipariş numarasına göre sipariş getiriliyor: {}", orderNumber);
-        return orderRepository.findByOrderNumber(orderNumber)
-                .map(this::convertToOrderResponse);
+        Optional<OrderResponseCache.Entry> cached = orderResponseCache.findByOrderNumber(orderNumber);
+        if (cached.isPresent()) {
+            return Optional.of(cached.get().response());
+        }
+        if (!orderNumberFilter.mightExist(orderNumber)) {
+            return Optional.empty();
+        }
+        return orderRepository.findWithItemsByOrderNumber(orderNumber)
+                .map(this::convertAndCache);
     }
 
+    @Transactional(readOnly = true)
+    public Optional<OrderResponse> getOrderByIdForAdmin(Long orderId) {
+        log.info("Yönetici için sipariş ID'ye göre getiriliyor: {}", orderId);
+        Optional<OrderResponseCache.Entry> cached = orderResponseCache.findById(orderId);
+        if (cached.isPresent()) {
+            return Optional.of(cached.get().response());
+        }
+        return orderRepository.findWithItemsById(orderId)
+                .map(this::convertAndCache);
+    }
+
+    @Transactional(readOnly = true)
     public Long getUserOrderCount(String username) {
         log.info("Kullanıcı sipariş sayısı getiriliyor: {}", username);
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("Kullanıcı bulunamadı"));
-        return orderRepository.countOrdersByUser(user);
+        return userOrderStatsService.getStats(username).getOrderCount();
     }
 
+    @Transactional(readOnly = true)
     public Page<OrderResponse> getOrdersByStatus(OrderStatus status, Pageable pageable) {
         log.info("Duruma göre siparişler getiriliyor: {}", status);
         Page<Order> orders = orderRepository.findByStatusOrderByOrderDateDesc(status, pageable);
-        return orders.map(this::convertToOrderResponse);
+        return convertToOrderResponses(orders);
     }
 
+    @Transactional(readOnly = true)
     public List<OrderResponse> getUserOrdersByStatus(String username, OrderStatus status) {
         log.info("Kullanıcı siparişleri duruma göre getiriliyor: {} durum: {}", username, status);
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("Kullanıcı bulunamadı"));
 
         List<Order> orders = orderRepository.findByUserAndStatus(user, status);
-        return orders.stream().map(this::convertToOrderResponse).collect(Collectors.toList());
+        return convertToOrderResponses(orders);
     }
 
+    @Transactional(readOnly = true)
     public Page<OrderResponse> getUserOrdersPaged(String username, Pageable pageable) {
         log.info("Kullanıcı siparişleri sayfalı getiriliyor: {}", username);
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("Kullanıcı bulunamadı"));
 
+        if (orderSearchService.isReadModelEnabled()) {
+            Optional<Page<OrderResponse>> fromIndex = readPageFromIndex(
+                    () -> orderSearchService.findUserOrders(user.getId(), pageable));
+            if (fromIndex.isPresent()) {
+                return fromIndex.get();
+            }
+        }
+
         Page<Order> orders = orderRepository.findByUserOrderByOrderDateDesc(user, pageable);
-        return orders.map(this::convertToOrderResponse);
+        return convertToOrderResponses(orders);
+    }
+
+    // İmleç tabanlı listeler: derinlikten bağımsız olarak sabit maliyetli, COUNT sorgusu yok
+
+    @Transactional(readOnly = true)
+    public CursorResponse<OrderResponse> getUserOrdersSlice(String username, String cursor, int size) {
+        log.info("Kullanıcı siparişleri imleç ile getiriliyor: {}", username);
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("Kullanıcı bulunamadı"));
+
+        OrderCursor after = OrderCursor.decode(cursor);
+        return convertToCursorResponse(
+                orderRepository.findUserOrdersAfter(user, after.orderDate(), after.id(), sliceOf(size)));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorResponse<OrderResponse> getUserOrdersByStatusSlice(String username, OrderStatus status,
+            String cursor, int size) {
+        log.info("Kullanıcı siparişleri duruma göre imleç ile getiriliyor: {} durum: {}", username, status);
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("Kullanıcı bulunamadı"));
+
+        OrderCursor after = OrderCursor.decode(cursor);
+        return convertToCursorResponse(orderRepository.findUserOrdersByStatusAfter(user, status,
+                after.orderDate(), after.id(), sliceOf(size)));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorResponse<OrderResponse> getAllOrdersSlice(String cursor, int size) {
+        log.info("Tüm siparişler imleç ile getiriliyor...");
+        OrderCursor after = OrderCursor.decode(cursor);
+        return convertToCursorResponse(orderRepository.findOrdersAfter(after.orderDate(), after.id(), sliceOf(size)));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorResponse<OrderResponse> getOrdersByStatusSlice(OrderStatus status, String cursor, int size) {
+        log.info("Duruma göre siparişler imleç ile getiriliyor: {}", status);
+        OrderCursor after = OrderCursor.decode(cursor);
+        return convertToCursorResponse(
+                orderRepository.findOrdersByStatusAfter(status, after.orderDate(), after.id(), sliceOf(size)));
     }
 
+    @Transactional(readOnly = true)
     public List<OrderResponse> getOrdersBetweenDates(LocalDateTime startDate, LocalDateTime endDate) {
         log.info("Tarihler arası siparişler getiriliyor: {} - {}", startDate, endDate);
         List<Order> orders = orderRepository.findOrdersBetweenDated(startDate, endDate);
-        return orders.stream().map(this::convertToOrderResponse).collect(Collectors.toList());
+        return convertToOrderResponses(orders);
     }
 
     @Transactional
@@ -214,7 +451,7 @@ public class OrderService {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("Kullanıcı bulunamadı"));
 
-        Order order = orderRepository.findById(orderId)
+        Order order = orderRepository.findWithItemsById(orderId)
                 .orElseThrow(() -> new RuntimeException("Sipariş bulunamadı"));
 
         if (!order.getUser().getId().equals(user.getId())) {
@@ -230,9 +467,14 @@ public class OrderService {
             product.setStock(product.getStock() + orderItem.getQuantity());
             productRepository.save(product);
         });
+        productStockIndexUpdater.markChanged(order.getOrderItems().stream().map(OrderItem::getProduct).toList());
 
         order.setStatus(OrderStatus.CANCELLED);
         Order savedOrder = orderRepository.save(order);
+        userOrderStatsService.recordStatusChange(savedOrder, OrderStatus.PENDING);
+        salesRollupService.recordStatusChange(savedOrder, OrderStatus.PENDING);
+        orderResponseCache.evict(savedOrder);
+        publishStatusChange(savedOrder, OrderStatus.PENDING);
 
         orderSearchService.indexOrder(savedOrder);
 
@@ -244,7 +486,7 @@ public class OrderService {
     public OrderResponse cancelOrderByAdmin(Long orderId, String reason) {
         log.info("Yönetici siparişi iptal etti: {} İptal sebebi: {}", orderId, reason);
 
-        Order order = orderRepository.findById(orderId)
+        Order order = orderRepository.findWithItemsById(orderId)
                 .orElseThrow(() -> new RuntimeException("Sipariş bulunamadı"));
 
         if (order.getStatus() == OrderStatus.DELIVERED) {
@@ -257,14 +499,20 @@ public class OrderService {
                 product.setStock(product.getStock() + orderItem.getQuantity());
                 productRepository.save(product);
             });
+            productStockIndexUpdater.markChanged(order.getOrderItems().stream().map(OrderItem::getProduct).toList());
         }
 
+        OrderStatus previousStatus = order.getStatus();
         order.setStatus(OrderStatus.CANCELLED);
         if (reason != null && !reason.trim().isEmpty()) {
             order.setNotes(order.getNotes() + " [İptal sebebi: " + reason + "]");
         }
 
         Order savedOrder = orderRepository.save(order);
+        userOrderStatsService.recordStatusChange(savedOrder, previousStatus);
+        salesRollupService.recordStatusChange(savedOrder, previousStatus);
+        orderResponseCache.evict(savedOrder);
+        publishStatusChange(savedOrder, previousStatus);
 
         orderSearchService.indexOrder(savedOrder);
 
@@ -272,31 +520,22 @@ public class OrderService {
         return convertToOrderResponse(savedOrder);
     }
 
+    @Transactional(readOnly = true)
     public String getOrderSummary(Long orderId) {
         log.info("Sipariş özeti getiriliyor: {}", orderId);
-        Order order = orderRepository.findById(orderId)
+        OrderSummaryView summary = orderRepository.findSummaryById(orderId)
                 .orElseThrow(() -> new RuntimeException("Sipariş bulunamadı"));
 
-        int totalItems = order.getOrderItems().stream()
-                .mapToInt(OrderItem::getQuantity)
-                .sum();
-
-        String statusText = messageService.getMessage("order.status." + order.getStatus().name());
+        String statusText = messageService.getStatusText(summary.status());
 
         return String.format("Sipariş %s: %d ürün, Toplam: %s TL, Durum: %s",
-                order.getOrderNumber(), totalItems, order.getTotalAmount(), statusText);
+                summary.orderNumber(), summary.totalItems(), summary.totalAmount(), statusText);
     }
 
+    @Transactional(readOnly = true)
     public BigDecimal getUserTotalSpending(String username) {
         log.info("Kullanıcı toplam harcaması hesaplanıyor: {}", username);
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("Kullanıcı bulunamadı"));
-
-        List<Order> completedOrders = orderRepository.findByUserAndStatus(user, OrderStatus.DELIVERED);
-
-        BigDecimal totalSpending = completedOrders.stream()
-                .map(Order::getTotalAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal totalSpending = userOrderStatsService.getStats(username).getTotalSpent();
 
         log.info("Kullanıcı {} toplam harcaması: {} TL", username, totalSpending);
         return totalSpending;
@@ -322,37 +561,33 @@ public class OrderService {
         return deliveryTime;
     }
 
+    @NoDatabaseAccess
     public Page<OrderResponse> searchOrdersInElasticsearch(String query, Pageable pageable) {
         log.info("Elasticsearch ile sipariş aranıyor: {} (sayfa: {})", query, pageable.getPageNumber());
         Page<OrderResponse> results = orderSearchService.searchOrders(query, pageable)
-                .map(orderIndex -> {
-                    OrderStatus status = OrderStatus.valueOf(orderIndex.getStatus());
-                    String statusText = messageService.getMessage("order.status." + status.name());
-
-                    return OrderResponse.builder().id(Long.valueOf(orderIndex.getId()))
-                            .orderNumber(orderIndex.getOrderNumber()).totalAmount(orderIndex.getTotalAmount())
-                            .status(status).statusText(statusText).orderDate(orderIndex.getOrderDate())
-                            .deliveryDate(orderIndex.getDeliveryDate()).shippingAddress(orderIndex.getShippingAddress())
-                            .notes(orderIndex.getNotes()).build();
-                });
+                .map(this::convertToOrderResponse);
         log.info("Elasticsearch araması tamamlandı. Bulunan sonuç sayısı: {}", results.getTotalElements());
         return results;
     }
 
+    @NoDatabaseAccess
     public Page<OrderResponse> searchOrdersByStatusInElasticsearch(String status, Pageable pageable) {
         log.info("Elasticsearch ile sipariş durumuna göre aranıyor: {} (sayfa: {})", status, pageable.getPageNumber());
         Page<OrderResponse> results = orderSearchService.findByStatus(status, pageable)
-                .map(orderIndex -> {
-                    OrderStatus orderStatus = OrderStatus.valueOf(orderIndex.getStatus());
-                    String statusText = messageService.getMessage("order.status." + orderStatus.name());
-
-                    return OrderResponse.builder().id(Long.valueOf(orderIndex.getId()))
-                            .orderNumber(orderIndex.getOrderNumber()).totalAmount(orderIndex.getTotalAmount())
-                            .status(orderStatus).statusText(statusText).orderDate(orderIndex.getOrderDate())
-                            .deliveryDate(orderIndex.getDeliveryDate()).shippingAddress(orderIndex.getShippingAddress())
-                            .notes(orderIndex.getNotes()).build();
-                });
+                .map(this::convertToOrderResponse);
         log.info("Durum bazlı Elasticsearch araması tamamlandı. Bulunan sonuç sayısı: {}", results.getTotalElements());
         return results;
     }
-}
\ No newline at end of file
+
+    @NoDatabaseAccess
+    public CursorResponse<OrderResponse> searchOrdersInElasticsearch(String query, String cursor, int size) {
+        log.info("Elasticsearch ile sipariş imleç ile aranıyor: {}", query);
+        return convertToCursorResponse(orderSearchService.searchOrders(query, cursor, size));
+    }
+
+    @NoDatabaseAccess
+    public CursorResponse<OrderResponse> searchOrdersByStatusInElasticsearch(String status, String cursor, int size) {
+        log.info("Elasticsearch ile sipariş durumuna göre imleç ile aranıyor: {}", status);
+        return convertToCursorResponse(orderSearchService.findByStatus(status, cursor, size));
+    }
+}
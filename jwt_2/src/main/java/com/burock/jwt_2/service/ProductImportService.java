@@ -0,0 +1,502 @@
+package com.burock.jwt_2.service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.elasticsearch.BulkFailureException;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.query.IndexQuery;
+import org.springframework.data.elasticsearch.core.query.IndexQueryBuilder;
+import org.springframework.data.elasticsearch.core.suggest.Completion;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.burock.jwt_2.dto.ImportFormat;
+import com.burock.jwt_2.dto.ProductImportEvent;
+import com.burock.jwt_2.dto.ProductImportRow;
+import com.burock.jwt_2.model.Category;
+import com.burock.jwt_2.repository.CategoryRepository;
+import com.burock.jwt_2.search.model.ProductIndex;
+import com.burock.jwt_2.search.service.CategoryProductCounter;
+import com.burock.jwt_2.search.service.IndexWriteTracker;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.Time;
+import co.elastic.clients.elasticsearch.indices.IndexSettings;
+import co.elastic.clients.elasticsearch.indices.IndexState;
+import lombok.extern.slf4j.Slf4j;
+
+// Toplu ürün içe aktarımı: satırlar akış halinde okunur, batch'ler halinde JDBC ile yazılır ve
+// Elasticsearch'e _bulk ile paralel gönderilir. Bellekte en fazla (1 + paralel istek sayısı) batch tutulur.
+@Service
+@Slf4j
+public class ProductImportService {
+
+    private static final String INSERT_SQL = "INSERT INTO product (id, name, price, stock, category_id, version) "
+            + "VALUES (?, ?, ?, ?, ?, 0)";
+
+    // product_seq pooled optimizer ile kullanılır (allocationSize 50): nextval'in döndürdüğü her değer
+    // [değer - 49, değer] aralığını ayırır; Hibernate'in aldığı bloklarla çakışmaz
+    private static final int ID_BLOCK_SIZE = 50;
+    private static final String ID_BLOCKS_SQL = "SELECT nextval('product_seq') FROM generate_series(1, ?)";
+
+    private static final String DEFAULT_REFRESH_INTERVAL = "1s";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CategoryRepository categoryRepository;
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final ElasticsearchClient elasticsearchClient;
+    private final IndexWriteTracker indexWriteTracker;
+    private final CategoryProductCounter categoryProductCounter;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int parallelBulkRequests;
+    private final String importRefreshInterval;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public ProductImportService(JdbcTemplate jdbcTemplate, CategoryRepository categoryRepository,
+            ElasticsearchOperations elasticsearchOperations, ElasticsearchClient elasticsearchClient,
+            IndexWriteTracker indexWriteTracker, CategoryProductCounter categoryProductCounter,
+            ObjectMapper objectMapper, PlatformTransactionManager transactionManager,
+            @Value("${products.import.batch-size:500}") int batchSize,
+            @Value("${products.import.parallel-bulk-requests:4}") int parallelBulkRequests,
+            @Value("${products.import.refresh-interval:-1}") String importRefreshInterval) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.categoryRepository = categoryRepository;
+        this.elasticsearchOperations = elasticsearchOperations;
+        this.elasticsearchClient = elasticsearchClient;
+        this.indexWriteTracker = indexWriteTracker;
+        this.categoryProductCounter = categoryProductCounter;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.parallelBulkRequests = parallelBulkRequests;
+        this.importRefreshInterval = importRefreshInterval;
+    }
+
+    // İstek gövdesi de yanıt gövdesi de akış halindedir; her batch sonrası ilerleme satırı yazılır
+    public StreamingResponseBody importProducts(InputStream body, ImportFormat format) {
+        return out -> {
+            ImportProgress progress = new ImportProgress(out);
+            if (!running.compareAndSet(false, true)) {
+                progress.emit(ProductImportEvent.error(0, "Devam eden bir ürün içe aktarımı var"));
+                progress.flush();
+                return;
+            }
+            try {
+                runImport(body, format, progress);
+            } catch (RuntimeException e) {
+                log.error("Ürün içe aktarımı yarıda kaldı: {}", e.getMessage());
+                progress.emit(ProductImportEvent.error(0, "İçe aktarım yarıda kaldı: " + e.getMessage()));
+            } finally {
+                running.set(false);
+                progress.flush();
+            }
+        };
+    }
+
+    private void runImport(InputStream body, ImportFormat format, ImportProgress progress) throws IOException {
+        long start = System.currentTimeMillis();
+        log.info("Ürün içe aktarımı başladı ({})", format);
+
+        CategoryLookup categories = new CategoryLookup(categoryRepository.findAll());
+        String indexName = elasticsearchOperations.getIndexCoordinatesFor(ProductIndex.class).getIndexName();
+        String previousRefreshInterval = relaxRefreshInterval(indexName);
+        Semaphore inFlight = new Semaphore(parallelBulkRequests);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+                ExecutorService bulkExecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+            RowParser parser = format == ImportFormat.CSV ? new CsvRowParser() : this::parseJson;
+            List<PendingProduct> batch = new ArrayList<>(batchSize);
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || parser.skip(line, lineNumber)) {
+                    continue;
+                }
+                progress.read.incrementAndGet();
+                try {
+                    batch.add(categories.resolve(lineNumber, parser.parse(line)));
+                } catch (RuntimeException e) {
+                    progress.rowFailed(lineNumber, e.getMessage());
+                    continue;
+                }
+                if (batch.size() >= batchSize) {
+                    flush(batch, bulkExecutor, inFlight, progress);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                flush(batch, bulkExecutor, inFlight, progress);
+            }
+        } finally {
+            // Executor kapanırken devam eden _bulk istekleri beklenir
+            restoreRefreshInterval(indexName, previousRefreshInterval);
+        }
+
+        long durationMs = System.currentTimeMillis() - start;
+        progress.emit(ProductImportEvent.done(progress.read.get(), progress.imported.get(), progress.failed.get(),
+                progress.indexed.get(), durationMs));
+        log.info("Ürün içe aktarımı tamamlandı. Okunan: {}, eklenen: {}, hatalı: {}, indekslenen: {} ({} ms)",
+                progress.read.get(), progress.imported.get(), progress.failed.get(), progress.indexed.get(),
+                durationMs);
+    }
+
+    private void flush(List<PendingProduct> batch, ExecutorService bulkExecutor, Semaphore inFlight,
+            ImportProgress progress) {
+        List<PendingProduct> inserted = insert(batch, progress);
+        progress.imported.addAndGet(inserted.size());
+        inserted.forEach(product -> categoryProductCounter.productAdded(product.categoryId));
+        if (!inserted.isEmpty()) {
+            // Paralel _bulk istek sayısı sınırlıdır; sınırdayken okuma bekler (geri basınç)
+            inFlight.acquireUninterruptibly();
+            bulkExecutor.submit(() -> {
+                try {
+                    bulkIndex(inserted, progress);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+        progress.emitProgress();
+    }
+
+    // Batch tek transaction'da yazılır; başarısız olursa hatalı satırları bulmak için satır satır tekrar denenir
+    private List<PendingProduct> insert(List<PendingProduct> batch, ImportProgress progress) {
+        assignIds(batch);
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, batch,
+                    batch.size(), (ps, product) -> {
+                        ps.setLong(1, product.id);
+                        ps.setString(2, product.name);
+                        ps.setDouble(3, product.price);
+                        ps.setInt(4, product.stock);
+                        ps.setLong(5, product.categoryId);
+                    }));
+            return batch;
+        } catch (DataAccessException e) {
+            log.warn("Batch yazılamadı, satırlar tek tek deneniyor: {}", e.getMostSpecificCause().getMessage());
+        }
+
+        List<PendingProduct> inserted = new ArrayList<>(batch.size());
+        for (PendingProduct product : batch) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(INSERT_SQL, product.id,
+                        product.name, product.price, product.stock, product.categoryId));
+                inserted.add(product);
+            } catch (DataAccessException e) {
+                progress.rowFailed(product.line, "Veritabanı hatası: " + e.getMostSpecificCause().getMessage());
+            }
+        }
+        return inserted;
+    }
+
+    private void assignIds(List<PendingProduct> batch) {
+        int assigned = 0;
+        while (assigned < batch.size()) {
+            int blocks = (batch.size() - assigned + ID_BLOCK_SIZE - 1) / ID_BLOCK_SIZE;
+            for (Long hi : jdbcTemplate.queryForList(ID_BLOCKS_SQL, Long.class, blocks)) {
+                // Yeni sequence'in ilk değeri tam bir blok ayırmaz; atlanır
+                if (hi < ID_BLOCK_SIZE) {
+                    continue;
+                }
+                for (long id = hi - ID_BLOCK_SIZE + 1; id <= hi && assigned < batch.size(); id++) {
+                    batch.get(assigned++).id = id;
+                }
+            }
+        }
+    }
+
+    private void bulkIndex(List<PendingProduct> products, ImportProgress progress) {
+        Map<String, PendingProduct> byId = new HashMap<>();
+        List<IndexQuery> queries = new ArrayList<>(products.size());
+        for (PendingProduct product : products) {
+            String id = String.valueOf(product.id);
+            byId.put(id, product);
+            indexWriteTracker.recordWrite(ProductIndex.class, id);
+            ProductIndex doc = ProductIndex.builder().id(id).name(product.name).price(product.price)
+                    .stock(product.stock).categoryId(String.valueOf(product.categoryId))
+                    .categoryName(product.categoryName).suggest(new Completion(new String[] { product.name }))
+                    .build();
+            queries.add(new IndexQueryBuilder().withId(id).withObject(doc).build());
+        }
+        try {
+            elasticsearchOperations.bulkIndex(queries, ProductIndex.class);
+            progress.indexed.addAndGet(products.size());
+        } catch (BulkFailureException e) {
+            progress.indexed.addAndGet(products.size() - e.getFailedDocuments().size());
+            e.getFailedDocuments().forEach((id, failure) -> {
+                PendingProduct product = byId.get(id);
+                progress.emit(ProductImportEvent.error(product != null ? product.line : 0,
+                        "Ürün " + id + " veritabanına eklendi ancak indekslenemedi: " + failure.errorMessage()));
+            });
+        } catch (RuntimeException e) {
+            log.error("Ürün batch'i indekslenemedi: {}", e.getMessage());
+            for (PendingProduct product : products) {
+                progress.emit(ProductImportEvent.error(product.line,
+                        "Ürün " + product.id + " veritabanına eklendi ancak indekslenemedi: " + e.getMessage()));
+            }
+        }
+    }
+
+    // Yükleme süresince refresh kapatılır (varsayılan -1); segmentler her saniye yeniden oluşturulmaz
+    private String relaxRefreshInterval(String indexName) {
+        try {
+            // indexName bir alias'tır; yanıt alias'ın bağlı olduğu sürümlü indeksin adıyla döner
+            IndexState state = elasticsearchClient.indices()
+                    .getSettings(g -> g.index(indexName).name("index.refresh_interval").includeDefaults(true))
+                    .result().values().stream().findFirst().orElse(null);
+            Time current = refreshIntervalOf(state != null ? state.settings() : null);
+            if (current == null) {
+                current = refreshIntervalOf(state != null ? state.defaults() : null);
+            }
+            String previous = current != null && current.isTime() ? current.time() : DEFAULT_REFRESH_INTERVAL;
+
+            elasticsearchClient.indices().putSettings(p -> p.index(indexName)
+                    .settings(s -> s.refreshInterval(t -> t.time(importRefreshInterval))));
+            log.info("{} indeksinin refresh aralığı içe aktarım için {} yapıldı (önceki: {})", indexName,
+                    importRefreshInterval, previous);
+            return previous;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Refresh aralığı değiştirilemedi, içe aktarım varsayılan ayarlarla devam ediyor: {}",
+                    e.getMessage());
+            return null;
+        }
+    }
+
+    private static Time refreshIntervalOf(IndexSettings settings) {
+        return settings != null && settings.index() != null ? settings.index().refreshInterval() : null;
+    }
+
+    private void restoreRefreshInterval(String indexName, String previous) {
+        if (previous == null) {
+            return;
+        }
+        try {
+            elasticsearchClient.indices().putSettings(p -> p.index(indexName)
+                    .settings(s -> s.refreshInterval(t -> t.time(previous))));
+            elasticsearchOperations.indexOps(ProductIndex.class).refresh();
+        } catch (IOException | RuntimeException e) {
+            log.error("{} indeksinin refresh aralığı geri alınamadı ({}): {}", indexName, previous, e.getMessage());
+        }
+    }
+
+    private ProductImportRow parseJson(String line) {
+        try {
+            return objectMapper.readValue(line, ProductImportRow.class);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Geçersiz JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private interface RowParser {
+
+        ProductImportRow parse(String line);
+
+        default boolean skip(String line, long lineNumber) {
+            return false;
+        }
+    }
+
+    // İlk satır başlıktır (name,price,stock,categoryId,categoryName; sıra serbest). Tırnak içindeki
+    // virgül ve çift tırnak desteklenir, satır sonu içeren alanlar desteklenmez.
+    private static class CsvRowParser implements RowParser {
+
+        private Map<String, Integer> columns;
+
+        @Override
+        public boolean skip(String line, long lineNumber) {
+            if (columns != null) {
+                return false;
+            }
+            columns = new HashMap<>();
+            List<String> header = split(line);
+            for (int i = 0; i < header.size(); i++) {
+                columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+            }
+            if (!columns.containsKey("name") || !columns.containsKey("price") || !columns.containsKey("stock")) {
+                throw new RuntimeException("CSV başlığında name, price ve stock kolonları olmalı");
+            }
+            return true;
+        }
+
+        @Override
+        public ProductImportRow parse(String line) {
+            List<String> values = split(line);
+            try {
+                String price = value(values, "price");
+                String stock = value(values, "stock");
+                String categoryId = value(values, "categoryid");
+                return new ProductImportRow(value(values, "name"),
+                        price != null ? Double.valueOf(price) : null,
+                        stock != null ? Integer.valueOf(stock) : null,
+                        categoryId != null ? Long.valueOf(categoryId) : null,
+                        value(values, "categoryname"));
+            } catch (NumberFormatException e) {
+                throw new RuntimeException("Geçersiz sayı: " + e.getMessage());
+            }
+        }
+
+        private String value(List<String> values, String column) {
+            Integer index = columns.get(column);
+            if (index == null || index >= values.size()) {
+                return null;
+            }
+            String value = values.get(index).trim();
+            return value.isEmpty() ? null : value;
+        }
+
+        private static List<String> split(String line) {
+            List<String> values = new ArrayList<>();
+            StringBuilder current = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        current.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        current.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    values.add(current.toString());
+                    current.setLength(0);
+                } else {
+                    current.append(c);
+                }
+            }
+            values.add(current.toString());
+            return values;
+        }
+    }
+
+    // Kategoriler bir kez okunur; satırlar id veya (büyük/küçük harf duyarsız) ad ile eşlenir
+    private static class CategoryLookup {
+
+        private final Map<Long, String> namesById = new HashMap<>();
+        private final Map<String, Long> idsByName = new HashMap<>();
+
+        private CategoryLookup(List<Category> categories) {
+            for (Category category : categories) {
+                namesById.put(category.getId(), category.getName());
+                idsByName.put(category.getName().toLowerCase(Locale.ROOT), category.getId());
+            }
+        }
+
+        private PendingProduct resolve(long line, ProductImportRow row) {
+            if (row.name() == null || row.name().isBlank()) {
+                throw new RuntimeException("Ürün adı boş olamaz");
+            }
+            if (row.price() == null || row.price() < 0) {
+                throw new RuntimeException("Fiyat 0 veya daha büyük olmalı");
+            }
+            if (row.stock() == null || row.stock() < 0) {
+                throw new RuntimeException("Stok 0 veya daha büyük olmalı");
+            }
+            Long categoryId = row.categoryId();
+            if (categoryId == null && row.categoryName() != null) {
+                categoryId = idsByName.get(row.categoryName().trim().toLowerCase(Locale.ROOT));
+            }
+            String categoryName = categoryId != null ? namesById.get(categoryId) : null;
+            if (categoryName == null) {
+                throw new RuntimeException("Kategori bulunamadı: "
+                        + (row.categoryId() != null ? row.categoryId() : row.categoryName()));
+            }
+            return new PendingProduct(line, row.name().trim(), row.price(), row.stock(), categoryId, categoryName);
+        }
+    }
+
+    private static class PendingProduct {
+
+        private final long line;
+        private final String name;
+        private final double price;
+        private final int stock;
+        private final long categoryId;
+        private final String categoryName;
+        private long id;
+
+        private PendingProduct(long line, String name, double price, int stock, long categoryId,
+                String categoryName) {
+            this.line = line;
+            this.name = name;
+            this.price = price;
+            this.stock = stock;
+            this.categoryId = categoryId;
+            this.categoryName = categoryName;
+        }
+    }
+
+    // Sayaçlar ve yanıt yazıcısı; _bulk thread'leri de hata satırı yazdığı için yazım senkronizedir
+    private class ImportProgress {
+
+        private final Writer writer;
+        private final AtomicLong read = new AtomicLong();
+        private final AtomicLong imported = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicLong indexed = new AtomicLong();
+
+        private ImportProgress(OutputStream out) {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        }
+
+        private void rowFailed(long line, String message) {
+            failed.incrementAndGet();
+            emit(ProductImportEvent.error(line, message));
+        }
+
+        private void emitProgress() {
+            emit(ProductImportEvent.progress(read.get(), imported.get(), failed.get(), indexed.get()));
+            flush();
+        }
+
+        private synchronized void emit(ProductImportEvent event) {
+            try {
+                writer.write(objectMapper.writeValueAsString(event));
+                writer.write('\n');
+            } catch (IOException e) {
+                // İstemci bağlantıyı kapattıysa içe aktarım yine de tamamlanır
+                log.debug("İçe aktarım olayı yazılamadı: {}", e.getMessage());
+            }
+        }
+
+        private synchronized void flush() {
+            try {
+                writer.flush();
+            } catch (IOException e) {
+                log.debug("İçe aktarım yanıtı gönderilemedi: {}", e.getMessage());
+            }
+        }
+    }
+}
@@ -1,17 +1,28 @@
 package com.burock.jwt_2.service;
 
+import java.util.List;
+import java.util.Objects;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.burock.jwt_2.config.NoDatabaseAccess;
+import com.burock.jwt_2.dto.CursorResponse;
+import com.burock.jwt_2.dto.ProductFacetFilter;
+import com.burock.jwt_2.dto.ProductFacets;
+import com.burock.jwt_2.dto.SearchSuggestion;
 import com.burock.jwt_2.model.Category;
 import com.burock.jwt_2.model.Product;
 import com.burock.jwt_2.repository.CategoryRepository;
 import com.burock.jwt_2.repository.ProductRepository;
 import com.burock.jwt_2.search.model.ProductIndex;
+import com.burock.jwt_2.search.service.CategoryProductCounter;
+import com.burock.jwt_2.search.service.DenormalizedFieldFanout;
 import com.burock.jwt_2.search.service.ProductSearchService;
+import com.burock.jwt_2.search.service.SearchSuggestService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -22,40 +33,102 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class ProductService {
 
+    private static final int MAX_BATCH_IDS = 100;
+
     private final ProductRepository repo;
     private final ProductSearchService productSearchService;
     private final CategoryRepository categoryRepo;
+    private final DenormalizedFieldFanout denormalizedFieldFanout;
+    private final CategoryProductCounter categoryProductCounter;
+    private final SearchSuggestService searchSuggestService;
 
+    @NoDatabaseAccess
     public Page<ProductIndex> getAll(Pageable pageable) {
         log.info("Tüm ürünler Elasticsearch ile getiriliyor...");
         return productSearchService.getAll(pageable);
     }
 
+    @NoDatabaseAccess
     public ProductIndex getById(Long id) {
         log.info("{} Id'li ürün Elasticsearch ile getiriliyor...", id);
         return productSearchService.getById(id);
     }
 
+    @NoDatabaseAccess
+    public List<ProductIndex> getByIds(List<Long> ids) {
+        if (ids.size() > MAX_BATCH_IDS) {
+            throw new RuntimeException("Tek istekte en fazla " + MAX_BATCH_IDS + " ürün getirilebilir");
+        }
+        log.info("{} ürün Elasticsearch ile tek istekte getiriliyor...", ids.size());
+        return productSearchService.getByIds(ids);
+    }
+
+    @NoDatabaseAccess
     public Page<ProductIndex> searchProducts(String query, Pageable pageable) {
         log.info("Ürünler sırayla aranıyor: '{}'", query);
         return productSearchService.search(query, pageable);
     }
 
+    @NoDatabaseAccess
     public Page<ProductIndex> getProductsByCategory(Long categoryId, Pageable pageable) {
         log.info("Ürünler kategoriye göre getiriliyor: {}", categoryId);
         return productSearchService.byCategory(categoryId, pageable);
     }
 
+    @NoDatabaseAccess
     public Page<ProductIndex> findByPriceRange(double minPrice, double maxPrice, Pageable pageable) {
         log.info("Elasticsearch ile {} ile {} arası fiyatlardaki ürünler bulunuyor...", minPrice,maxPrice);
         return productSearchService.findByPriceRange(minPrice, maxPrice, pageable);
     }
 
+    @NoDatabaseAccess
     public Page<ProductIndex> findInStock(Pageable pageable) {
         log.info("Elastiksearch ile stoktaki ürünler bulunuyor...");
         return productSearchService.findInStock(pageable);
     }
 
+    @NoDatabaseAccess
+    public ProductFacets facetSearch(ProductFacetFilter filter, Pageable pageable) {
+        log.info("Ürünler facet sayılarıyla birlikte aranıyor: '{}' (kategori: {})", filter.q(), filter.categoryId());
+        return productSearchService.facetSearch(filter, pageable);
+    }
+
+    // Her tuşta çağrılır; bilinçli olarak loglanmaz
+    @NoDatabaseAccess
+    public List<SearchSuggestion> suggest(String prefix, int size) {
+        return searchSuggestService.suggest(prefix, size);
+    }
+
+    @NoDatabaseAccess
+    public CursorResponse<ProductIndex> getAll(String cursor, int size) {
+        log.info("Tüm ürünler Elasticsearch ile imleç ile getiriliyor...");
+        return productSearchService.getAll(cursor, size);
+    }
+
+    @NoDatabaseAccess
+    public CursorResponse<ProductIndex> searchProducts(String query, String cursor, int size) {
+        log.info("Ürünler imleç ile aranıyor: '{}'", query);
+        return productSearchService.search(query, cursor, size);
+    }
+
+    @NoDatabaseAccess
+    public CursorResponse<ProductIndex> getProductsByCategory(Long categoryId, String cursor, int size) {
+        log.info("Ürünler kategoriye göre imleç ile getiriliyor: {}", categoryId);
+        return productSearchService.byCategory(categoryId, cursor, size);
+    }
+
+    @NoDatabaseAccess
+    public CursorResponse<ProductIndex> findByPriceRange(double minPrice, double maxPrice, String cursor, int size) {
+        log.info("Elasticsearch ile {} ile {} arası fiyatlardaki ürünler imleç ile bulunuyor...", minPrice, maxPrice);
+        return productSearchService.findByPriceRange(minPrice, maxPrice, cursor, size);
+    }
+
+    @NoDatabaseAccess
+    public CursorResponse<ProductIndex> findInStock(String cursor, int size) {
+        log.info("Elasticsearch ile stoktaki ürünler imleç ile bulunuyor...");
+        return productSearchService.findInStock(cursor, size);
+    }
+
     // Sadece Admin
 
     @PreAuthorize("hasRole('ADMIN')")
@@ -68,6 +141,7 @@ public class ProductService {
             p.setCategory(fullCategory);
         }
         Product saved = repo.save(p);
+        categoryProductCounter.productAdded(categoryId(saved));
         try {
             productSearchService.indexProduct(saved);
             log.info("Ürün Elasticsearch'e başarılı bir şekilde indekslendi.");
@@ -87,12 +161,20 @@ public class ProductService {
                     .orElseThrow(() -> new RuntimeException("Kategori bulunamadı: " + p.getCategory().getId()));
             p.setCategory(fullCategory);
         }
+        // Sepet dokümanlarına kopyalanan alanlar
+        Long previousCategoryId = categoryId(ep);
+        boolean copiedFieldsChanged = !Objects.equals(ep.getName(), p.getName()) || ep.getPrice() != p.getPrice()
+                || !Objects.equals(previousCategoryId, categoryId(p));
         ep.setName(p.getName());
         ep.setPrice(p.getPrice());
         ep.setCategory(p.getCategory());
         ep.setStock(p.getStock());
 
         Product saved = repo.save(ep);
+        if (copiedFieldsChanged) {
+            denormalizedFieldFanout.productChanged(saved);
+        }
+        categoryProductCounter.productMoved(previousCategoryId, categoryId(saved));
         try {
             productSearchService.indexProduct(saved);
             log.info("Ürün Elasticsearch'te başarılı bir şekilde güncellendi.");
@@ -106,10 +188,9 @@ public class ProductService {
     public void delete(Long id) {
         log.info("Ürün Siliniyor... : {}", id);
 
-        if (!repo.existsById(id)) {
-            throw new RuntimeException("Ürün bulunamadı: " + id);
-        }
-        repo.deleteById(id);
+        Product existing = repo.findById(id).orElseThrow(() -> new RuntimeException("Ürün bulunamadı: " + id));
+        repo.delete(existing);
+        categoryProductCounter.productRemoved(categoryId(existing));
 
         try {
             productSearchService.deleteFromIndex(id);
@@ -118,4 +199,8 @@ public class ProductService {
             log.error("Elastiksearch'ten ürün silme başarısız oldu: {}", e.getMessage());
         }
     }
+
+    private static Long categoryId(Product product) {
+        return product.getCategory() != null ? product.getCategory().getId() : null;
+    }
 }
@@ -0,0 +1,304 @@
+package com.burock.jwt_2.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.burock.jwt_2.dto.ProductSalesSummary;
+import com.burock.jwt_2.dto.SalesRevenueSummary;
+import com.burock.jwt_2.dto.SalesStatusBreakdown;
+import com.burock.jwt_2.model.Order;
+import com.burock.jwt_2.model.OrderItem;
+import com.burock.jwt_2.model.OrderStatus;
+import com.burock.jwt_2.model.Product;
+import com.burock.jwt_2.repository.ProductRepository;
+import com.burock.jwt_2.repository.SalesRollupDailyRepository;
+import com.burock.jwt_2.repository.SalesRollupHourlyRepository;
+import com.burock.jwt_2.repository.SalesRollupRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+// Siparişler oluşturuldukça ve durum değiştikçe saatlik/günlük satış özetlerini delta ile günceller.
+// Panel sorguları siparişleri taramak yerine birkaç yüz özet satırını toplar.
+@Service
+@Slf4j
+public class SalesRollupService {
+
+    private static final String HOURLY_TABLE = "sales_rollup_hourly";
+    private static final String DAILY_TABLE = "sales_rollup_daily";
+
+    private static final int MAX_TOP_PRODUCTS = 100;
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO %1$s (bucket, status, category_id, product_id, order_count, units, revenue)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (bucket, status, category_id, product_id) DO UPDATE SET
+                order_count = %1$s.order_count + EXCLUDED.order_count,
+                units = %1$s.units + EXCLUDED.units,
+                revenue = %1$s.revenue + EXCLUDED.revenue
+            """;
+
+    private static final String REBUILD_HOURLY_SQL = """
+            INSERT INTO sales_rollup_hourly (bucket, status, category_id, product_id, order_count, units, revenue)
+            SELECT date_trunc('hour', o.order_date), o.status, 0, 0, COUNT(*), COALESCE(SUM(i.units), 0),
+                SUM(o.total_amount)
+            FROM orders o
+            LEFT JOIN (
+                SELECT oi.order_id, SUM(oi.quantity) AS units
+                FROM order_item oi JOIN orders io ON io.id = oi.order_id AND io.order_date = oi.order_date
+                WHERE io.order_date >= ? AND io.order_date < ?
+                GROUP BY oi.order_id
+            ) i ON i.order_id = o.id
+            WHERE o.order_date >= ? AND o.order_date < ?
+            GROUP BY 1, 2
+            UNION ALL
+            SELECT date_trunc('hour', o.order_date), o.status, p.category_id, oi.product_id, COUNT(DISTINCT o.id),
+                SUM(oi.quantity), SUM(oi.total_price)
+            FROM orders o JOIN order_item oi ON oi.order_id = o.id AND oi.order_date = o.order_date JOIN product p ON p.id = oi.product_id
+            WHERE o.order_date >= ? AND o.order_date < ?
+            GROUP BY 1, 2, 3, 4
+            """;
+
+    private static final String REBUILD_DAILY_SQL = """
+            INSERT INTO sales_rollup_daily (bucket, status, category_id, product_id, order_count, units, revenue)
+            SELECT date_trunc('day', bucket), status, category_id, product_id, SUM(order_count), SUM(units),
+                SUM(revenue)
+            FROM sales_rollup_hourly
+            WHERE bucket >= ? AND bucket < ?
+            GROUP BY 1, 2, 3, 4
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SalesRollupHourlyRepository hourlyRepository;
+    private final SalesRollupDailyRepository dailyRepository;
+    private final ProductRepository productRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int repairDays;
+
+    public SalesRollupService(JdbcTemplate jdbcTemplate, SalesRollupHourlyRepository hourlyRepository,
+            SalesRollupDailyRepository dailyRepository, ProductRepository productRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${orders.rollup.repair-days:3}") int repairDays) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.hourlyRepository = hourlyRepository;
+        this.dailyRepository = dailyRepository;
+        this.productRepository = productRepository;
+        this.repairDays = repairDays;
+    }
+
+    // Yazma tarafı: çağıran sipariş transaction'ına katılır
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordOrderCreated(Order order) {
+        applyOrder(order, order.getStatus(), 1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordStatusChange(Order order, OrderStatus previousStatus) {
+        if (previousStatus == order.getStatus()) {
+            return;
+        }
+        applyOrder(order, previousStatus, -1);
+        applyOrder(order, order.getStatus(), 1);
+    }
+
+    private void applyOrder(Order order, OrderStatus status, int sign) {
+        LocalDateTime hour = order.getOrderDate().truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime day = order.getOrderDate().truncatedTo(ChronoUnit.DAYS);
+
+        List<Object[]> rows = new ArrayList<>();
+        long orderUnits = 0;
+        Map<Long, Object[]> byProduct = new LinkedHashMap<>();
+        for (OrderItem item : order.getOrderItems()) {
+            orderUnits += item.getQuantity();
+            Product product = item.getProduct();
+            Object[] row = byProduct.computeIfAbsent(product.getId(), id -> new Object[] {
+                    null, status.name(), product.getCategory().getId(), id, (long) sign, 0L, BigDecimal.ZERO });
+            row[5] = (Long) row[5] + (long) sign * item.getQuantity();
+            row[6] = ((BigDecimal) row[6]).add(item.getTotalPrice().multiply(BigDecimal.valueOf(sign)));
+        }
+        rows.add(new Object[] { null, status.name(), 0L, 0L, (long) sign, sign * orderUnits,
+                order.getTotalAmount().multiply(BigDecimal.valueOf(sign)) });
+        rows.addAll(byProduct.values());
+
+        jdbcTemplate.batchUpdate(UPSERT_SQL.formatted(HOURLY_TABLE), withBucket(rows, hour));
+        jdbcTemplate.batchUpdate(UPSERT_SQL.formatted(DAILY_TABLE), withBucket(rows, day));
+    }
+
+    private List<Object[]> withBucket(List<Object[]> rows, LocalDateTime bucket) {
+        return rows.stream().map(row -> {
+            Object[] copy = row.clone();
+            copy[0] = bucket;
+            return copy;
+        }).collect(Collectors.toList());
+    }
+
+    // Tablolar boşsa (ilk kurulum) tüm sipariş geçmişi bir kez özetlenir; aksi halde panel eski aralıklarda sıfır gösterir
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        Boolean empty = jdbcTemplate.queryForObject(
+                "SELECT NOT EXISTS (SELECT 1 FROM sales_rollup_hourly) AND NOT EXISTS (SELECT 1 FROM sales_rollup_daily)",
+                Boolean.class);
+        if (Boolean.TRUE.equals(empty)) {
+            log.info("Satış özet tabloları boş, tüm sipariş geçmişi özetleniyor...");
+            rebuild(LocalDate.MIN, LocalDate.now().plusDays(1));
+        }
+    }
+
+    // Son N günün özetlerini siparişlerden yeniden hesaplar
+    @Scheduled(cron = "${orders.rollup.repair-cron:0 15 2 * * *}")
+    public void repairRecentRollups() {
+        rebuild(LocalDate.now().minusDays(repairDays), LocalDate.now().plusDays(1));
+    }
+
+    // [from, to) gün aralığını ay ay, her ay ayrı transaction'da yeniden hesaplar. Kilit yalnızca işlenen ay
+    // boyunca tutulur; eşzamanlı deltalar kilit bırakılana kadar bekler.
+    public void rebuild(LocalDate from, LocalDate to) {
+        if (!from.isBefore(to)) {
+            throw new RuntimeException("Geçersiz tarih aralığı");
+        }
+        // Sipariş olmayan dönemler boşuna taranmasın diye en eski siparişten başlanır
+        LocalDate oldest = jdbcTemplate.queryForObject("SELECT CAST(MIN(order_date) AS date) FROM orders",
+                LocalDate.class);
+        if (oldest == null) {
+            return;
+        }
+        if (from.isBefore(oldest)) {
+            from = oldest;
+        }
+        log.info("Satış özetleri {} - {} aralığı için yeniden hesaplanıyor...", from, to);
+
+        int hourly = 0;
+        int daily = 0;
+        for (LocalDate chunkStart = from; chunkStart.isBefore(to);) {
+            LocalDate chunkEnd = chunkStart.withDayOfMonth(1).plusMonths(1);
+            if (chunkEnd.isAfter(to)) {
+                chunkEnd = to;
+            }
+            int[] counts = rebuildChunk(chunkStart.atStartOfDay(), chunkEnd.atStartOfDay());
+            hourly += counts[0];
+            daily += counts[1];
+            chunkStart = chunkEnd;
+        }
+        log.info("Satış özetleri yeniden hesaplandı. Saatlik satır: {}, günlük satır: {}", hourly, daily);
+    }
+
+    private int[] rebuildChunk(LocalDateTime from, LocalDateTime to) {
+        int[] counts = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("LOCK TABLE sales_rollup_hourly, sales_rollup_daily IN SHARE ROW EXCLUSIVE MODE");
+            jdbcTemplate.update("DELETE FROM sales_rollup_hourly WHERE bucket >= ? AND bucket < ?", from, to);
+            jdbcTemplate.update("DELETE FROM sales_rollup_daily WHERE bucket >= ? AND bucket < ?", from, to);
+            return new int[] { jdbcTemplate.update(REBUILD_HOURLY_SQL, from, to, from, to, from, to),
+                    jdbcTemplate.update(REBUILD_DAILY_SQL, from, to) };
+        });
+        return counts != null ? counts : new int[2];
+    }
+
+    // Okuma tarafı: tam günler günlük tablodan, baştaki ve sondaki kısmi günler saatlik tablodan okunur.
+    // Hassasiyet saat başıdır.
+
+    @Transactional(readOnly = true)
+    public List<SalesStatusBreakdown> getStatusBreakdown(LocalDateTime startDate, LocalDateTime endDate) {
+        Map<OrderStatus, SalesStatusBreakdown> totals = new EnumMap<>(OrderStatus.class);
+        for (RangePart part : split(startDate, endDate)) {
+            for (SalesStatusBreakdown row : part.repository().sumByStatus(part.from(), part.to())) {
+                totals.merge(row.status(), row, (a, b) -> new SalesStatusBreakdown(a.status(),
+                        a.orderCount() + b.orderCount(), a.units() + b.units(), a.revenue().add(b.revenue())));
+            }
+        }
+        return new ArrayList<>(totals.values());
+    }
+
+    // İptal edilen siparişler ciroya dahil edilmez
+    @Transactional(readOnly = true)
+    public SalesRevenueSummary getRevenue(LocalDateTime startDate, LocalDateTime endDate) {
+        long orderCount = 0;
+        long units = 0;
+        BigDecimal revenue = BigDecimal.ZERO;
+        for (SalesStatusBreakdown row : getStatusBreakdown(startDate, endDate)) {
+            if (row.status() != OrderStatus.CANCELLED) {
+                orderCount += row.orderCount();
+                units += row.units();
+                revenue = revenue.add(row.revenue());
+            }
+        }
+        return new SalesRevenueSummary(startDate, endDate, orderCount, units, revenue);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ProductSalesSummary> getTopProducts(LocalDateTime startDate, LocalDateTime endDate, int limit) {
+        Map<Long, ProductSalesSummary> totals = new HashMap<>();
+        for (RangePart part : split(startDate, endDate)) {
+            for (ProductSalesSummary row : part.repository().sumByProduct(part.from(), part.to(),
+                    OrderStatus.CANCELLED)) {
+                totals.merge(row.productId(), row, (a, b) -> new ProductSalesSummary(a.productId(), null,
+                        a.categoryId(), a.orderCount() + b.orderCount(), a.units() + b.units(),
+                        a.revenue().add(b.revenue())));
+            }
+        }
+
+        List<ProductSalesSummary> top = totals.values().stream()
+                .sorted(Comparator.comparing(ProductSalesSummary::revenue).reversed())
+                .limit(Math.max(1, Math.min(limit, MAX_TOP_PRODUCTS)))
+                .collect(Collectors.toList());
+
+        Map<Long, String> names = productRepository.findAllById(top.stream().map(ProductSalesSummary::productId)
+                .collect(Collectors.toList())).stream()
+                .collect(Collectors.toMap(Product::getId, Product::getName));
+
+        return top.stream()
+                .map(row -> new ProductSalesSummary(row.productId(), names.get(row.productId()), row.categoryId(),
+                        row.orderCount(), row.units(), row.revenue()))
+                .collect(Collectors.toList());
+    }
+
+    private record RangePart(SalesRollupRepository<?> repository, LocalDateTime from, LocalDateTime to) {
+    }
+
+    private List<RangePart> split(LocalDateTime startDate, LocalDateTime endDate) {
+        LocalDateTime start = startDate.truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime end = endDate.truncatedTo(ChronoUnit.HOURS);
+        if (!start.isBefore(end)) {
+            throw new RuntimeException("Geçersiz tarih aralığı");
+        }
+
+        LocalDateTime firstFullDay = start.toLocalTime().equals(LocalTime.MIDNIGHT) ? start
+                : start.truncatedTo(ChronoUnit.DAYS).plusDays(1);
+        LocalDateTime lastFullDay = end.truncatedTo(ChronoUnit.DAYS);
+        if (!firstFullDay.isBefore(lastFullDay)) {
+            return List.of(new RangePart(hourlyRepository, start, end));
+        }
+
+        List<RangePart> parts = new ArrayList<>();
+        if (start.isBefore(firstFullDay)) {
+            parts.add(new RangePart(hourlyRepository, start, firstFullDay));
+        }
+        parts.add(new RangePart(dailyRepository, firstFullDay, lastFullDay));
+        if (lastFullDay.isBefore(end)) {
+            parts.add(new RangePart(hourlyRepository, lastFullDay, end));
+        }
+        return parts;
+    }
+}
@@ -0,0 +1,121 @@
+package com.burock.jwt_2.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Dolan her katmanın ardından iki kat kapasiteli ve daha düşük hata oranlı yeni bir katman ekleyen Bloom filtresi.
+// Toplam yanlış pozitif oranı ilk katmanın oranının yaklaşık iki katıyla sınırlı kalır; yanlış negatif yoktur.
+final class ScalableBloomFilter {
+
+    private static final double TIGHTENING_RATIO = 0.5;
+
+    private final CopyOnWriteArrayList<Stage> stages = new CopyOnWriteArrayList<>();
+
+    ScalableBloomFilter(long initialCapacity, double falsePositiveRate) {
+        stages.add(new Stage(Math.max(1_000, initialCapacity), falsePositiveRate));
+    }
+
+    void put(String value) {
+        long[] hashes = hash(value);
+        Stage current = stages.get(stages.size() - 1);
+        if (current.isFull()) {
+            synchronized (this) {
+                current = stages.get(stages.size() - 1);
+                if (current.isFull()) {
+                    current = new Stage(current.capacity * 2, current.falsePositiveRate * TIGHTENING_RATIO);
+                    stages.add(current);
+                }
+            }
+        }
+        current.put(hashes[0], hashes[1]);
+    }
+
+    boolean mightContain(String value) {
+        long[] hashes = hash(value);
+        for (Stage stage : stages) {
+            if (stage.mightContain(hashes[0], hashes[1])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    long approximateSize() {
+        return stages.stream().mapToLong(stage -> stage.count.sum()).sum();
+    }
+
+    long bitSize() {
+        return stages.stream().mapToLong(stage -> stage.bitCount).sum();
+    }
+
+    // Kirsch-Mitzenmacher: iki 64 bitlik özetten k adet indeks üretilir
+    private static long[] hash(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        long h1 = 0xcbf29ce484222325L;
+        for (byte b : bytes) {
+            h1 ^= b;
+            h1 *= 0x100000001b3L;
+        }
+        return new long[] { mix(h1), mix(h1 ^ 0x9e3779b97f4a7c15L) | 1 };
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static final class Stage {
+
+        private final long capacity;
+        private final double falsePositiveRate;
+        private final long bitCount;
+        private final int hashCount;
+        private final AtomicLongArray bits;
+        private final LongAdder count = new LongAdder();
+
+        Stage(long capacity, double falsePositiveRate) {
+            this.capacity = capacity;
+            this.falsePositiveRate = falsePositiveRate;
+            long words = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)) / 64);
+            this.bits = new AtomicLongArray((int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, words)));
+            this.bitCount = (long) bits.length() * 64;
+            this.hashCount = Math.max(1, (int) Math.round((double) bitCount / capacity * Math.log(2)));
+        }
+
+        boolean isFull() {
+            return count.sum() >= capacity;
+        }
+
+        void put(long h1, long h2) {
+            for (int i = 0; i < hashCount; i++) {
+                long index = Math.floorMod(h1 + i * h2, bitCount);
+                int word = (int) (index >>> 6);
+                long mask = 1L << index;
+                long previous;
+                do {
+                    previous = bits.get(word);
+                    if ((previous & mask) != 0) {
+                        break;
+                    }
+                } while (!bits.compareAndSet(word, previous, previous | mask));
+            }
+            count.increment();
+        }
+
+        boolean mightContain(long h1, long h2) {
+            for (int i = 0; i < hashCount; i++) {
+                long index = Math.floorMod(h1 + i * h2, bitCount);
+                if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.burock.jwt_2.service;
+
+import java.math.BigDecimal;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.burock.jwt_2.model.Order;
+import com.burock.jwt_2.model.OrderStatus;
+import com.burock.jwt_2.model.UserOrderStats;
+import com.burock.jwt_2.repository.UserOrderStatsRepository;
+import com.burock.jwt_2.repository.UserRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserOrderStatsService {
+
+    private final UserOrderStatsRepository userOrderStatsRepository;
+    private final UserRepository userRepository;
+
+    // Çağıran sipariş transaction'ına katılır; sipariş geri alınırsa istatistik de geri alınır
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordOrderCreated(Order order) {
+        long delivered = order.getStatus() == OrderStatus.DELIVERED ? 1 : 0;
+        BigDecimal spent = delivered == 1 ? order.getTotalAmount() : BigDecimal.ZERO;
+        userOrderStatsRepository.applyDelta(order.getUser().getId(), 1, delivered, spent, order.getOrderDate());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordStatusChange(Order order, OrderStatus previousStatus) {
+        boolean wasDelivered = previousStatus == OrderStatus.DELIVERED;
+        boolean isDelivered = order.getStatus() == OrderStatus.DELIVERED;
+        if (wasDelivered == isDelivered) {
+            return;
+        }
+        long delivered = isDelivered ? 1 : -1;
+        BigDecimal spent = isDelivered ? order.getTotalAmount() : order.getTotalAmount().negate();
+        userOrderStatsRepository.applyDelta(order.getUser().getId(), 0, delivered, spent, order.getOrderDate());
+    }
+
+    @Transactional(readOnly = true)
+    public UserOrderStats getStats(String username) {
+        return userOrderStatsRepository.findByUsername(username).orElseGet(() -> {
+            if (!userRepository.existsByUsername(username)) {
+                throw new RuntimeException("Kullanıcı bulunamadı");
+            }
+            return UserOrderStats.builder().orderCount(0).deliveredCount(0).totalSpent(BigDecimal.ZERO).build();
+        });
+    }
+
+    // İlk kurulumda tablo boştur; ilk gece çalışmasını beklemeden geçmiş siparişlerden doldurulur.
+    // Arşive taşınmış partition'lar orders tablosuna bağlı kaldığı için onlar da sayılır.
+    @EventListener(ApplicationReadyEvent.class)
+    @org.springframework.core.annotation.Order(Ordered.LOWEST_PRECEDENCE)
+    @Transactional
+    public void rebuildIfEmpty() {
+        if (userOrderStatsRepository.count() == 0) {
+            rebuild();
+        }
+    }
+
+    @Scheduled(cron = "${orders.stats.rebuild-cron:0 30 3 * * *}")
+    @Transactional
+    public int rebuild() {
+        log.info("Kullanıcı sipariş istatistikleri yeniden hesaplanıyor...");
+        userOrderStatsRepository.lockForRebuild();
+        userOrderStatsRepository.deleteAllStats();
+        int users = userOrderStatsRepository.insertStatsFromOrders();
+        log.info("Kullanıcı sipariş istatistikleri yeniden hesaplandı. Kullanıcı sayısı: {}", users);
+        return users;
+    }
+}
@@ -0,0 +1,167 @@
+-- Şemanın Hibernate (ddl-auto=update) ile yönetildiği dönemdeki hali. Var olan veritabanlarında bu sürüm
+-- baseline kabul edilir ve çalıştırılmaz (spring.flyway.baseline-on-migrate); boş veritabanında ilk olarak çalışır.
+
+create sequence cart_line_seq start with 1 increment by 50;
+
+create sequence cart_seq start with 1 increment by 50;
+
+create sequence category_seq start with 1 increment by 50;
+
+create sequence order_item_seq start with 1 increment by 50;
+
+create sequence orders_seq start with 1 increment by 50;
+
+create sequence product_seq start with 1 increment by 50;
+
+create sequence users_seq start with 1 increment by 50;
+
+create table cart (
+    id bigint not null,
+    user_id bigint not null unique,
+    primary key (id)
+);
+
+create table cart_line (
+    quantity integer not null,
+    cart_id bigint not null,
+    id bigint not null,
+    product_id bigint not null,
+    primary key (id)
+);
+
+create table category (
+    id bigint not null,
+    name varchar(255) not null unique,
+    primary key (id)
+);
+
+create table order_item (
+    quantity integer not null,
+    total_price numeric(10,2) not null,
+    unit_price numeric(10,2) not null,
+    id bigint not null,
+    order_id bigint not null,
+    product_id bigint not null,
+    primary key (id)
+);
+
+create table orders (
+    total_amount numeric(10,2) not null,
+    delivery_date timestamp(6),
+    id bigint not null,
+    order_date timestamp(6) not null,
+    user_id bigint not null,
+    shipping_address varchar(500),
+    notes varchar(255),
+    order_number varchar(255) unique,
+    status varchar(255) not null check (status in ('PENDING','CONFIRMED','PROCESSING','SHIPPED','DELIVERED','CANCELLED')),
+    primary key (id)
+);
+
+create table product (
+    price float(53) not null check (price>=0),
+    stock integer not null check (stock>=0),
+    category_id bigint not null,
+    id bigint not null,
+    version bigint default 0,
+    name varchar(255) not null,
+    primary key (id)
+);
+
+create table sales_rollup_daily (
+    revenue numeric(14,2) not null,
+    bucket timestamp(6) not null,
+    category_id bigint not null,
+    order_count bigint not null,
+    product_id bigint not null,
+    units bigint not null,
+    status varchar(255) not null check (status in ('PENDING','CONFIRMED','PROCESSING','SHIPPED','DELIVERED','CANCELLED')),
+    primary key (bucket, category_id, product_id, status)
+);
+
+create table sales_rollup_hourly (
+    revenue numeric(14,2) not null,
+    bucket timestamp(6) not null,
+    category_id bigint not null,
+    order_count bigint not null,
+    product_id bigint not null,
+    units bigint not null,
+    status varchar(255) not null check (status in ('PENDING','CONFIRMED','PROCESSING','SHIPPED','DELIVERED','CANCELLED')),
+    primary key (bucket, category_id, product_id, status)
+);
+
+create table user_order_stats (
+    total_spent numeric(14,2) not null,
+    delivered_count bigint not null,
+    last_order_date timestamp(6),
+    order_count bigint not null,
+    user_id bigint not null,
+    primary key (user_id)
+);
+
+create table user_roles (
+    user_id bigint not null,
+    role varchar(255) check (role in ('ROLE_USER','ROLE_ADMIN'))
+);
+
+create table users (
+    id bigint not null,
+    password varchar(255) not null,
+    username varchar(255) not null unique,
+    primary key (id)
+);
+
+create index idx_orders_user_date_id
+   on orders (user_id, order_date, id);
+
+create index idx_orders_status_date_id
+   on orders (status, order_date, id);
+
+create index idx_orders_date_id
+   on orders (order_date, id);
+
+create index idx_sales_rollup_daily_bucket_product
+   on sales_rollup_daily (bucket, product_id);
+
+create index idx_sales_rollup_hourly_bucket_product
+   on sales_rollup_hourly (bucket, product_id);
+
+alter table if exists cart
+   add constraint FKg5uhi8vpsuy0lgloxk2h4w5o6
+   foreign key (user_id)
+   references users;
+
+alter table if exists cart_line
+   add constraint FK8oljrxf47o5d2jrqo0gh0ds8r
+   foreign key (cart_id)
+   references cart;
+
+alter table if exists cart_line
+   add constraint FK6fx7athvka6ywajy8bsqc0mdh
+   foreign key (product_id)
+   references product;
+
+alter table if exists order_item
+   add constraint FKt4dc2r9nbvbujrljv3e23iibt
+   foreign key (order_id)
+   references orders;
+
+alter table if exists order_item
+   add constraint FK551losx9j75ss5d6bfsqvijna
+   foreign key (product_id)
+   references product;
+
+alter table if exists orders
+   add constraint FK32ql8ubntj5uh44ph9659tiih
+   foreign key (user_id)
+   references users;
+
+alter table if exists product
+   add constraint FK1mtsbur82frn64de7balymq9s
+   foreign key (category_id)
+   references category;
+
+alter table if exists user_roles
+   add constraint FKhfh9dx7w3ubf1co1vdev94g3f
+   foreign key (user_id)
+   references users;
